@@ -0,0 +1,72 @@
+package com.cena.chat_app.cache;
+
+import com.cena.chat_app.entity.BlockedUser;
+import com.cena.chat_app.repository.BlockedUserRepository;
+import com.cena.chat_app.websocket.RealtimeEventHandler;
+import com.cena.chat_app.websocket.RealtimeEventType;
+import com.cena.chat_app.websocket.RealtimeTransport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class BlockGraphCache implements RealtimeEventHandler {
+    private static final int MAX_USERS = 100_000;
+    private static final Duration BLOCKED_BY_TTL = Duration.ofMinutes(10);
+
+    private final BlockedUserRepository blockedUserRepository;
+    private final RealtimeTransport realtimeTransport;
+    private final ExpiringLruCache<String, Set<String>> blockedBy;
+
+    public BlockGraphCache(BlockedUserRepository blockedUserRepository, RealtimeTransport realtimeTransport) {
+        this.blockedUserRepository = blockedUserRepository;
+        this.realtimeTransport = realtimeTransport;
+        this.blockedBy = new ExpiringLruCache<>(MAX_USERS, BLOCKED_BY_TTL);
+    }
+
+    public Set<String> getBlockedBy(String userId) {
+        return getBlockedBy(List.of(userId)).get(userId);
+    }
+
+    public Map<String, Set<String>> getBlockedBy(Collection<String> userIds) {
+        return blockedBy.getAll(userIds, this::loadBlockedBy);
+    }
+
+    private Map<String, Set<String>> loadBlockedBy(List<String> userIds) {
+        Map<String, Set<String>> loaded = new HashMap<>();
+        userIds.forEach(userId -> loaded.put(userId, new HashSet<>()));
+        for (BlockedUser block : blockedUserRepository.findBlockersOf(userIds)) {
+            loaded.get(block.getBlockedId()).add(block.getBlockerId());
+        }
+        Map<String, Set<String>> snapshots = new HashMap<>();
+        loaded.forEach((userId, blockers) -> snapshots.put(userId, Set.copyOf(blockers)));
+        return snapshots;
+    }
+
+    public void invalidate(String blockedUserId) {
+        blockedBy.invalidate(blockedUserId);
+        try {
+            realtimeTransport.publish(RealtimeEventType.BLOCK_INVALIDATE, blockedUserId, "");
+        } catch (Exception e) {
+            log.error("Failed to publish block cache invalidation - userId={}, error={}", blockedUserId, e.getMessage());
+        }
+    }
+
+    @Override
+    public RealtimeEventType getEventType() {
+        return RealtimeEventType.BLOCK_INVALIDATE;
+    }
+
+    @Override
+    public void handle(String blockedUserId, byte[] payload) {
+        blockedBy.invalidate(blockedUserId);
+    }
+}
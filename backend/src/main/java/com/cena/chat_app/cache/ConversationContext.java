@@ -0,0 +1,42 @@
+package com.cena.chat_app.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationContext {
+    private String conversationId;
+    private String type;
+    private Map<String, Member> members;
+
+    public Member getMember(String userId) {
+        return members.get(userId);
+    }
+
+    public boolean isMember(String userId) {
+        return members.containsKey(userId);
+    }
+
+    public List<String> getMemberIds() {
+        return new ArrayList<>(members.keySet());
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Member {
+        private String userId;
+        private String role;
+        private boolean canSendMessage;
+    }
+}
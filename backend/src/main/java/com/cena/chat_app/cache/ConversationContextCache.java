@@ -0,0 +1,100 @@
+package com.cena.chat_app.cache;
+
+import com.cena.chat_app.entity.Conversation;
+import com.cena.chat_app.entity.ConversationMember;
+import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.repository.ConversationRepository;
+import com.cena.chat_app.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class ConversationContextCache {
+    private static final int MAX_CONVERSATIONS = 10_000;
+    private static final int MAX_PROFILES = 50_000;
+    private static final Duration CONTEXT_TTL = Duration.ofMinutes(5);
+    private static final Duration PROFILE_TTL = Duration.ofMinutes(1);
+
+    private final ConversationRepository conversationRepository;
+    private final ConversationMemberRepository conversationMemberRepository;
+    private final UserRepository userRepository;
+    private final ExpiringLruCache<String, ConversationContext> contexts;
+    private final ExpiringLruCache<String, SenderProfile> profiles;
+    private final Counter contextHits;
+    private final Counter contextMisses;
+
+    public ConversationContextCache(ConversationRepository conversationRepository,
+                                    ConversationMemberRepository conversationMemberRepository,
+                                    UserRepository userRepository,
+                                    MeterRegistry meterRegistry) {
+        this.conversationRepository = conversationRepository;
+        this.conversationMemberRepository = conversationMemberRepository;
+        this.userRepository = userRepository;
+        this.contexts = new ExpiringLruCache<>(MAX_CONVERSATIONS, CONTEXT_TTL);
+        this.profiles = new ExpiringLruCache<>(MAX_PROFILES, PROFILE_TTL);
+        this.contextHits = meterRegistry.counter("chat.cache.requests", "cache", "conversation-context", "result", "hit");
+        this.contextMisses = meterRegistry.counter("chat.cache.requests", "cache", "conversation-context", "result", "miss");
+        Gauge.builder("chat.cache.size", contexts, ExpiringLruCache::size)
+                .tag("cache", "conversation-context")
+                .register(meterRegistry);
+    }
+
+    public Optional<ConversationContext> getContext(String conversationId) {
+        ConversationContext context = contexts.getIfPresent(conversationId);
+        if (context != null) {
+            contextHits.increment();
+            return Optional.of(context);
+        }
+        contextMisses.increment();
+        return Optional.ofNullable(contexts.get(conversationId, this::loadContext));
+    }
+
+    public List<String> getMemberIds(String conversationId) {
+        return getContext(conversationId)
+                .map(ConversationContext::getMemberIds)
+                .orElse(List.of());
+    }
+
+    public SenderProfile getSenderProfile(String userId) {
+        return profiles.get(userId, id -> SenderProfile.from(userRepository.findById(id).orElse(null)));
+    }
+
+    public void invalidate(String conversationId) {
+        contexts.invalidate(conversationId);
+    }
+
+    public void invalidateProfile(String userId) {
+        profiles.invalidate(userId);
+    }
+
+    private ConversationContext loadContext(String conversationId) {
+        Conversation conversation = conversationRepository.findById(conversationId).orElse(null);
+        if (conversation == null) {
+            return null;
+        }
+
+        List<ConversationMember> members = conversationMemberRepository.findByConversationId(conversationId);
+        Map<String, ConversationContext.Member> memberMap = new LinkedHashMap<>();
+        for (ConversationMember member : members) {
+            memberMap.put(member.getUserId(), ConversationContext.Member.builder()
+                    .userId(member.getUserId())
+                    .role(member.getRole())
+                    .canSendMessage(member.isCanSendMessage())
+                    .build());
+        }
+
+        return ConversationContext.builder()
+                .conversationId(conversation.getId())
+                .type(conversation.getType())
+                .members(memberMap)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.cena.chat_app.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+public class ExpiringLruCache<K, V> {
+    private static final int GENERATION_STRIPES = 64;
+
+    private final int maxEntries;
+    private final int evictionTarget;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public ExpiringLruCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.evictionTarget = maxEntries - maxEntries / 10;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry.value;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        long generation = generation(key);
+        value = loader.apply(key);
+        if (value != null) {
+            putIfCurrent(key, value, generation);
+        }
+        return value;
+    }
+
+    public Map<K, V> getAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        Map<K, V> result = new HashMap<>();
+        Map<K, Long> missing = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = getIfPresent(key);
+            if (value != null) {
+                result.put(key, value);
+            } else {
+                missing.put(key, generation(key));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            loader.apply(new ArrayList<>(missing.keySet())).forEach((key, value) -> {
+                Long generation = missing.get(key);
+                if (generation != null && value != null) {
+                    putIfCurrent(key, value, generation);
+                }
+                result.put(key, value);
+            });
+        }
+        return result;
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, newEntry(value));
+        evictIfFull();
+    }
+
+    public void invalidate(K key) {
+        generations.incrementAndGet(stripe(key));
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void putIfCurrent(K key, V value, long generation) {
+        entries.compute(key, (k, current) -> generation(k) == generation ? newEntry(value) : current);
+        evictIfFull();
+    }
+
+    private Entry<V> newEntry(V value) {
+        return new Entry<>(value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    private long generation(K key) {
+        return generations.get(stripe(key));
+    }
+
+    private int stripe(K key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.entrySet().removeIf(entry -> entry.getValue().expiresAt < now);
+            if (entries.size() <= maxEntries) {
+                return;
+            }
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<K, Entry<V>> entry) -> entry.getValue().lastAccess))
+                    .limit(entries.size() - evictionTarget)
+                    .toList()
+                    .forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        private volatile long lastAccess = System.nanoTime();
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.cena.chat_app.cache;
+
+import com.cena.chat_app.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SenderProfile {
+    private String userId;
+    private String username;
+    private String displayName;
+    private String avatarUrl;
+
+    public static SenderProfile from(User user) {
+        if (user == null) {
+            return null;
+        }
+        return SenderProfile.builder()
+                .userId(user.getId())
+                .username(user.getUsername())
+                .displayName(user.getDisplayName())
+                .avatarUrl(user.getAvatarUrl())
+                .build();
+    }
+}
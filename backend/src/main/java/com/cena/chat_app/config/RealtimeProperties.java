@@ -0,0 +1,84 @@
+package com.cena.chat_app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Component
+@ConfigurationProperties(prefix = "realtime")
+@Data
+public class RealtimeProperties {
+    private Transport transport = Transport.PUBSUB;
+    private Routing routing = Routing.PRESENCE;
+    private String nodeId = UUID.randomUUID().toString();
+    private String channel = "realtime:events";
+    private String streamKey = "realtime:events";
+    private long streamMaxLength = 100_000;
+    private int streamBatchSize = 100;
+    private int shardedPartitions = 64;
+    private Duration streamPollTimeout = Duration.ofSeconds(2);
+    private Duration streamGroupIdleTimeout = Duration.ofMinutes(30);
+    private Duration streamMaintenanceInterval = Duration.ofMinutes(1);
+    private Duration streamRetryMinIdle = Duration.ofSeconds(30);
+    private Duration streamEphemeralMaxAge = Duration.ofSeconds(5);
+    private Duration streamRecordMaxAge = Duration.ofMinutes(5);
+    private int replayBufferSize = 500;
+    private Duration replayTtl = Duration.ofHours(6);
+    private Duration typingWindow = Duration.ofMillis(300);
+    private int sendBufferSize = 512;
+    private Duration sendSaturationTimeout = Duration.ofSeconds(10);
+    private Duration batchWindow = Duration.ofMillis(10);
+    private int batchMaxBytes = 16 * 1024;
+    private boolean compressionEnabled = true;
+    private double compressionSampleRate = 0.05;
+
+    public boolean isPubSub() {
+        return transport == Transport.PUBSUB;
+    }
+
+    public boolean isStreams() {
+        return transport == Transport.STREAMS;
+    }
+
+    public boolean isSharded() {
+        return transport == Transport.SHARDED;
+    }
+
+    public boolean isPresenceRouting() {
+        return routing == Routing.PRESENCE && !isStreams();
+    }
+
+    public String getNodeChannel() {
+        return nodeChannel(nodeId);
+    }
+
+    public String nodeChannel(String targetNodeId) {
+        return channel + ":node:" + targetNodeId;
+    }
+
+    public String streamHeartbeatKey(String targetNodeId) {
+        return streamKey + ":heartbeat:" + targetNodeId;
+    }
+
+    public String partitionChannel(int partition) {
+        return channel + ":{" + partition + "}";
+    }
+
+    public String partitionChannelFor(String targetId) {
+        return partitionChannel(Math.floorMod(targetId.hashCode(), shardedPartitions));
+    }
+
+    public enum Transport {
+        PUBSUB,
+        STREAMS,
+        SHARDED
+    }
+
+    public enum Routing {
+        BROADCAST,
+        PRESENCE
+    }
+}
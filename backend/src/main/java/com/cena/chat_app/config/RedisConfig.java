@@ -1,18 +1,13 @@
 package com.cena.chat_app.config;
 
-import com.cena.chat_app.websocket.RedisGroupEventSubscriber;
-import com.cena.chat_app.websocket.RedisMessageSubscriber;
-import com.cena.chat_app.websocket.RedisMessageUpdateSubscriber;
-import com.cena.chat_app.websocket.RedisReactionSubscriber;
-import com.cena.chat_app.websocket.RedisSeenSubscriber;
-import com.cena.chat_app.websocket.RedisTypingSubscriber;
-import com.cena.chat_app.websocket.RedisUnreadSubscriber;
+import com.cena.chat_app.websocket.RealtimeEventDispatcher;
 import tools.jackson.databind.DeserializationFeature;
 import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 @Configuration
@@ -33,22 +28,14 @@ public class RedisConfig {
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(
             RedisConnectionFactory connectionFactory,
-            RedisMessageSubscriber messageSubscriber,
-            RedisUnreadSubscriber unreadSubscriber,
-            RedisSeenSubscriber seenSubscriber,
-            RedisTypingSubscriber typingSubscriber,
-            RedisReactionSubscriber reactionSubscriber,
-            RedisMessageUpdateSubscriber messageUpdateSubscriber,
-            RedisGroupEventSubscriber groupEventSubscriber) {
+            RealtimeEventDispatcher eventDispatcher,
+            RealtimeProperties realtimeProperties) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
-        container.addMessageListener(messageSubscriber, messageSubscriber.getChannelPattern());
-        container.addMessageListener(unreadSubscriber, unreadSubscriber.getChannelPattern());
-        container.addMessageListener(seenSubscriber, seenSubscriber.getChannelPattern());
-        container.addMessageListener(typingSubscriber, typingSubscriber.getChannelPattern());
-        container.addMessageListener(reactionSubscriber, reactionSubscriber.getChannelPattern());
-        container.addMessageListener(messageUpdateSubscriber, messageUpdateSubscriber.getChannelPattern());
-        container.addMessageListener(groupEventSubscriber, groupEventSubscriber.getChannelPattern());
+        if (realtimeProperties.isPubSub()) {
+            container.addMessageListener(eventDispatcher, new ChannelTopic(realtimeProperties.getChannel()));
+            container.addMessageListener(eventDispatcher, new ChannelTopic(realtimeProperties.getNodeChannel()));
+        }
         return container;
     }
 }
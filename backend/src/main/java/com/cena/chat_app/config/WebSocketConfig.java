@@ -1,6 +1,8 @@
 package com.cena.chat_app.config;
 
+import com.cena.chat_app.websocket.CompressionHandshakeHandler;
 import com.cena.chat_app.websocket.JwtWebSocketHandshakeInterceptor;
+import com.cena.chat_app.websocket.OutboundBackpressureDecoratorFactory;
 import com.cena.chat_app.websocket.WebSocketAuthChannelInterceptor;
 import com.cena.chat_app.websocket.WebSocketRateLimitInterceptor;
 import org.springframework.context.annotation.Configuration;
@@ -9,6 +11,7 @@ import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -16,13 +19,19 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     private final JwtWebSocketHandshakeInterceptor jwtWebSocketHandshakeInterceptor;
     private final WebSocketAuthChannelInterceptor webSocketAuthChannelInterceptor;
     private final WebSocketRateLimitInterceptor webSocketRateLimitInterceptor;
+    private final OutboundBackpressureDecoratorFactory outboundBackpressureDecoratorFactory;
+    private final CompressionHandshakeHandler compressionHandshakeHandler;
 
     public WebSocketConfig(JwtWebSocketHandshakeInterceptor jwtWebSocketHandshakeInterceptor,
             WebSocketAuthChannelInterceptor webSocketAuthChannelInterceptor,
-            WebSocketRateLimitInterceptor webSocketRateLimitInterceptor) {
+            WebSocketRateLimitInterceptor webSocketRateLimitInterceptor,
+            OutboundBackpressureDecoratorFactory outboundBackpressureDecoratorFactory,
+            CompressionHandshakeHandler compressionHandshakeHandler) {
         this.jwtWebSocketHandshakeInterceptor = jwtWebSocketHandshakeInterceptor;
         this.webSocketAuthChannelInterceptor = webSocketAuthChannelInterceptor;
         this.webSocketRateLimitInterceptor = webSocketRateLimitInterceptor;
+        this.outboundBackpressureDecoratorFactory = outboundBackpressureDecoratorFactory;
+        this.compressionHandshakeHandler = compressionHandshakeHandler;
     }
 
     @Override
@@ -43,6 +52,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                     "http://127.0.0.1:5174",
                     "http://127.0.0.1:3000"
                 )
+                .setHandshakeHandler(compressionHandshakeHandler)
                 .addInterceptors(jwtWebSocketHandshakeInterceptor);
     }
 
@@ -50,4 +60,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(webSocketRateLimitInterceptor, webSocketAuthChannelInterceptor);
     }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.addDecoratorFactory(outboundBackpressureDecoratorFactory);
+    }
 }
@@ -0,0 +1,135 @@
+package com.cena.chat_app.controller;
+
+import com.cena.chat_app.dto.ApiResponse;
+import com.cena.chat_app.dto.request.DeleteMessageRequest;
+import com.cena.chat_app.dto.request.EditMessageRequest;
+import com.cena.chat_app.dto.request.ReactionRequest;
+import com.cena.chat_app.dto.request.SendMessageRequest;
+import com.cena.chat_app.dto.response.MessageReceiptResponse;
+import com.cena.chat_app.dto.response.MessageResponse;
+import com.cena.chat_app.dto.response.MessageUpdateEventResponse;
+import com.cena.chat_app.dto.response.ReactionEventResponse;
+import com.cena.chat_app.exception.AppException;
+import com.cena.chat_app.exception.ErrorCode;
+import com.cena.chat_app.service.MessageService;
+import com.cena.chat_app.websocket.WebSocketRateLimitInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+
+import java.util.function.Supplier;
+
+@Slf4j
+@Controller
+public class ChatMessageController {
+    private static final String RECEIPTS_DESTINATION = "/queue/receipts";
+
+    private final MessageService messageService;
+
+    public ChatMessageController(MessageService messageService) {
+        this.messageService = messageService;
+    }
+
+    @MessageMapping("/chat.sendMessage")
+    @SendToUser(destinations = RECEIPTS_DESTINATION, broadcast = false)
+    public MessageReceiptResponse handleSendMessage(@Payload SendMessageRequest request, Authentication authentication,
+            @Header(name = WebSocketRateLimitInterceptor.RATE_LIMITED_HEADER, required = false) Boolean rateLimited) {
+        return receipt("SEND", request.getClientMessageId(), rateLimited, () -> {
+            ApiResponse<MessageResponse> response = messageService.sendMessage(getUserId(authentication), request);
+            MessageResponse message = response.getData();
+            return accepted("SEND", request.getClientMessageId(), response)
+                    .messageId(message.getId())
+                    .conversationId(message.getConversationId())
+                    .seq(message.getSeq())
+                    .build();
+        });
+    }
+
+    @MessageMapping("/chat.reaction")
+    @SendToUser(destinations = RECEIPTS_DESTINATION, broadcast = false)
+    public MessageReceiptResponse handleReaction(@Payload ReactionRequest request, Authentication authentication,
+            @Header(name = WebSocketRateLimitInterceptor.RATE_LIMITED_HEADER, required = false) Boolean rateLimited) {
+        return receipt("REACTION", request.getClientMessageId(), rateLimited, () -> {
+            ApiResponse<ReactionEventResponse> response = messageService.toggleReaction(getUserId(authentication), request);
+            return accepted("REACTION", request.getClientMessageId(), response)
+                    .messageId(response.getData().getMessageId())
+                    .conversationId(response.getData().getConversationId())
+                    .build();
+        });
+    }
+
+    @MessageMapping("/chat.editMessage")
+    @SendToUser(destinations = RECEIPTS_DESTINATION, broadcast = false)
+    public MessageReceiptResponse handleEditMessage(@Payload EditMessageRequest request, Authentication authentication,
+            @Header(name = WebSocketRateLimitInterceptor.RATE_LIMITED_HEADER, required = false) Boolean rateLimited) {
+        return receipt("EDIT", request.getClientMessageId(), rateLimited, () -> {
+            ApiResponse<MessageUpdateEventResponse> response = messageService.editMessage(getUserId(authentication), request);
+            return accepted("EDIT", request.getClientMessageId(), response)
+                    .messageId(response.getData().getMessageId())
+                    .conversationId(response.getData().getConversationId())
+                    .build();
+        });
+    }
+
+    @MessageMapping("/chat.deleteMessage")
+    @SendToUser(destinations = RECEIPTS_DESTINATION, broadcast = false)
+    public MessageReceiptResponse handleDeleteMessage(@Payload DeleteMessageRequest request, Authentication authentication,
+            @Header(name = WebSocketRateLimitInterceptor.RATE_LIMITED_HEADER, required = false) Boolean rateLimited) {
+        return receipt("DELETE", request.getClientMessageId(), rateLimited, () -> {
+            ApiResponse<MessageUpdateEventResponse> response = messageService.deleteMessage(getUserId(authentication), request);
+            return accepted("DELETE", request.getClientMessageId(), response)
+                    .messageId(response.getData().getMessageId())
+                    .conversationId(response.getData().getConversationId())
+                    .build();
+        });
+    }
+
+    private MessageReceiptResponse receipt(String action, String clientMessageId, Boolean rateLimited,
+                                           Supplier<MessageReceiptResponse> handler) {
+        try {
+            if (Boolean.TRUE.equals(rateLimited)) {
+                throw new AppException(ErrorCode.RATE_LIMIT_EXCEEDED);
+            }
+            return handler.get();
+        } catch (AppException e) {
+            log.warn("WebSocket {} rejected - clientMessageId={}, code={}", action, clientMessageId,
+                    e.getErrorCode().getCode());
+            return rejected(action, clientMessageId, e.getErrorCode(), e.getMessage());
+        } catch (Exception e) {
+            log.error("WebSocket {} failed - clientMessageId={}, error={}", action, clientMessageId, e.getMessage());
+            return rejected(action, clientMessageId, ErrorCode.INTERNAL_SERVER_ERROR,
+                    ErrorCode.INTERNAL_SERVER_ERROR.getMessage());
+        }
+    }
+
+    private MessageReceiptResponse.MessageReceiptResponseBuilder accepted(String action, String clientMessageId,
+                                                                         ApiResponse<?> response) {
+        return MessageReceiptResponse.builder()
+                .clientMessageId(clientMessageId)
+                .action(action)
+                .status(response.getStatus())
+                .code(response.getCode())
+                .message(response.getMessage());
+    }
+
+    private MessageReceiptResponse rejected(String action, String clientMessageId, ErrorCode errorCode, String message) {
+        return MessageReceiptResponse.builder()
+                .clientMessageId(clientMessageId)
+                .action(action)
+                .status("error")
+                .code(errorCode.getCode())
+                .message(message)
+                .build();
+    }
+
+    private String getUserId(Authentication authentication) {
+        if (authentication == null || authentication.getPrincipal() == null) {
+            throw new AppException(ErrorCode.UNAUTHORIZED);
+        }
+        return (String) authentication.getPrincipal();
+    }
+}
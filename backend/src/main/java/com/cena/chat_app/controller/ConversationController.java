@@ -30,8 +30,10 @@ public class ConversationController {
     }
 
     @GetMapping
-    public ApiResponse<List<ConversationResponse>> getConversations() {
-        return conversationService.getConversations();
+    public ApiResponse<List<ConversationResponse>> getConversations(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "0") int size) {
+        return conversationService.getConversations(page, size);
     }
 
     @PostMapping("/{conversationId}/read")
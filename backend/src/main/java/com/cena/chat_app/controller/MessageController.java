@@ -5,9 +5,11 @@ import com.cena.chat_app.dto.request.DeleteMessageRequest;
 import com.cena.chat_app.dto.request.EditMessageRequest;
 import com.cena.chat_app.dto.request.ReactionRequest;
 import com.cena.chat_app.dto.request.SendMessageRequest;
+import com.cena.chat_app.dto.response.MessagePageResponse;
 import com.cena.chat_app.dto.response.MessageResponse;
 import com.cena.chat_app.dto.response.MessageUpdateEventResponse;
 import com.cena.chat_app.dto.response.ReactionEventResponse;
+import com.cena.chat_app.dto.response.ReactionPageResponse;
 import com.cena.chat_app.service.MessageService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -38,11 +40,44 @@ public class MessageController {
         return messageService.getMessages(conversationId, pageable);
     }
 
+    @GetMapping(params = "before")
+    public ApiResponse<MessagePageResponse> getMessagesBefore(
+            @RequestParam String conversationId,
+            @RequestParam String before,
+            @RequestParam(defaultValue = "50") int size) {
+        return messageService.getMessagePage(conversationId, before, true, size);
+    }
+
+    @GetMapping(params = "after")
+    public ApiResponse<MessagePageResponse> getMessagesAfter(
+            @RequestParam String conversationId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "50") int size) {
+        return messageService.getMessagePage(conversationId, after, false, size);
+    }
+
+    @GetMapping(params = {"fromSeq", "toSeq"})
+    public ApiResponse<List<MessageResponse>> getMessagesBySeqRange(
+            @RequestParam String conversationId,
+            @RequestParam long fromSeq,
+            @RequestParam long toSeq) {
+        return messageService.getMessagesBySeqRange(conversationId, fromSeq, toSeq);
+    }
+
     @PostMapping("/reactions")
     public ApiResponse<ReactionEventResponse> toggleReaction(@RequestBody ReactionRequest request) {
         return messageService.toggleReaction(request);
     }
 
+    @GetMapping("/{messageId}/reactions")
+    public ApiResponse<ReactionPageResponse> getReactionUsers(
+            @PathVariable String messageId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return messageService.getReactionUsers(messageId, type, cursor, size);
+    }
+
     @PutMapping("/{messageId}")
     public ApiResponse<MessageUpdateEventResponse> editMessage(
             @PathVariable String messageId,
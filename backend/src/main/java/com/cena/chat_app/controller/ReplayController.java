@@ -0,0 +1,62 @@
+package com.cena.chat_app.controller;
+
+import com.cena.chat_app.cache.ConversationContextCache;
+import com.cena.chat_app.dto.request.ReplayRequest;
+import com.cena.chat_app.dto.response.ReplayResponse;
+import com.cena.chat_app.exception.AppException;
+import com.cena.chat_app.exception.ErrorCode;
+import com.cena.chat_app.service.RedisReplayBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+
+@Slf4j
+@Controller
+public class ReplayController {
+    private static final int MAX_CONVERSATIONS_PER_REQUEST = 200;
+
+    private final RedisReplayBuffer redisReplayBuffer;
+    private final ConversationContextCache conversationContextCache;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public ReplayController(RedisReplayBuffer redisReplayBuffer,
+                            ConversationContextCache conversationContextCache,
+                            SimpMessagingTemplate messagingTemplate) {
+        this.redisReplayBuffer = redisReplayBuffer;
+        this.conversationContextCache = conversationContextCache;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @MessageMapping("/replay")
+    public void handleReplay(@Payload ReplayRequest request, Authentication authentication) {
+        String userId = (String) authentication.getPrincipal();
+        if (userId == null) {
+            throw new AppException(ErrorCode.UNAUTHORIZED);
+        }
+
+        Map<String, String> offsets = request.getLastEventOffsets();
+        if (offsets == null || offsets.isEmpty()) {
+            return;
+        }
+
+        offsets.entrySet().stream()
+                .limit(MAX_CONVERSATIONS_PER_REQUEST)
+                .forEach(entry -> {
+                    boolean member = conversationContextCache.getContext(entry.getKey())
+                            .map(context -> context.isMember(userId))
+                            .orElse(false);
+                    if (!member) {
+                        log.warn("Replay rejected - userId={}, conversationId={}", userId, entry.getKey());
+                        return;
+                    }
+
+                    ReplayResponse response = redisReplayBuffer.replay(entry.getKey(), entry.getValue());
+                    messagingTemplate.convertAndSendToUser(userId, "/queue/replay", response);
+                });
+    }
+}
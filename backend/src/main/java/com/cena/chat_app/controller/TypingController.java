@@ -1,13 +1,10 @@
 package com.cena.chat_app.controller;
 
+import com.cena.chat_app.cache.ConversationContextCache;
 import com.cena.chat_app.dto.request.TypingRequest;
-import com.cena.chat_app.dto.response.TypingEventResponse;
-import com.cena.chat_app.entity.ConversationMember;
 import com.cena.chat_app.exception.AppException;
 import com.cena.chat_app.exception.ErrorCode;
-import com.cena.chat_app.repository.ConversationMemberRepository;
-import com.cena.chat_app.service.RedisTypingPublisher;
-import com.cena.chat_app.service.RedisTypingService;
+import com.cena.chat_app.service.TypingAggregator;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.security.core.Authentication;
@@ -15,16 +12,13 @@ import org.springframework.stereotype.Controller;
 
 @Controller
 public class TypingController {
-    private final RedisTypingService redisTypingService;
-    private final RedisTypingPublisher redisTypingPublisher;
-    private final ConversationMemberRepository conversationMemberRepository;
+    private final TypingAggregator typingAggregator;
+    private final ConversationContextCache conversationContextCache;
 
-    public TypingController(RedisTypingService redisTypingService,
-                           RedisTypingPublisher redisTypingPublisher,
-                           ConversationMemberRepository conversationMemberRepository) {
-        this.redisTypingService = redisTypingService;
-        this.redisTypingPublisher = redisTypingPublisher;
-        this.conversationMemberRepository = conversationMemberRepository;
+    public TypingController(TypingAggregator typingAggregator,
+                           ConversationContextCache conversationContextCache) {
+        this.typingAggregator = typingAggregator;
+        this.conversationContextCache = conversationContextCache;
     }
 
     @MessageMapping("/typing/start")
@@ -34,19 +28,11 @@ public class TypingController {
             throw new AppException(ErrorCode.UNAUTHORIZED);
         }
 
-        ConversationMember membership = conversationMemberRepository
-                .findByConversationIdAndUserId(request.getConversationId(), userId)
+        conversationContextCache.getContext(request.getConversationId())
+                .filter(context -> context.isMember(userId))
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED));
 
-        redisTypingService.addTypingUser(request.getConversationId(), userId);
-
-        TypingEventResponse typingEvent = TypingEventResponse.builder()
-                .conversationId(request.getConversationId())
-                .userId(userId)
-                .isTyping(true)
-                .build();
-
-        redisTypingPublisher.publishTypingEvent(request.getConversationId(), typingEvent);
+        typingAggregator.record(request.getConversationId(), userId, true);
     }
 
     @MessageMapping("/typing/stop")
@@ -56,18 +42,10 @@ public class TypingController {
             throw new AppException(ErrorCode.UNAUTHORIZED);
         }
 
-        ConversationMember membership = conversationMemberRepository
-                .findByConversationIdAndUserId(request.getConversationId(), userId)
+        conversationContextCache.getContext(request.getConversationId())
+                .filter(context -> context.isMember(userId))
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED));
 
-        redisTypingService.removeTypingUser(request.getConversationId(), userId);
-
-        TypingEventResponse typingEvent = TypingEventResponse.builder()
-                .conversationId(request.getConversationId())
-                .userId(userId)
-                .isTyping(false)
-                .build();
-
-        redisTypingPublisher.publishTypingEvent(request.getConversationId(), typingEvent);
+        typingAggregator.record(request.getConversationId(), userId, false);
     }
 }
@@ -17,4 +17,5 @@ public class CreateMediaMessageRequest {
     private String type;
     private Map<String, Object> mediaMetadata;
     private String replyTo;
+    private String clientMessageId;
 }
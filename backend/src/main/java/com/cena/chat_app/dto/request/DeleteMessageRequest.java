@@ -11,4 +11,5 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class DeleteMessageRequest {
     private String messageId;
+    private String clientMessageId;
 }
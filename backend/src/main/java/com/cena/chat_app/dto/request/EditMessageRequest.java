@@ -12,4 +12,5 @@ import lombok.NoArgsConstructor;
 public class EditMessageRequest {
     private String messageId;
     private String content;
+    private String clientMessageId;
 }
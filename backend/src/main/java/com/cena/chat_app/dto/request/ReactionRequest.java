@@ -12,4 +12,5 @@ import lombok.NoArgsConstructor;
 public class ReactionRequest {
     private String messageId;
     private String reactionType;
+    private String clientMessageId;
 }
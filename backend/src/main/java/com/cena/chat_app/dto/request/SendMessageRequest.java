@@ -13,4 +13,5 @@ public class SendMessageRequest {
     private String conversationId;
     private String content;
     private String replyTo;
+    private String clientMessageId;
 }
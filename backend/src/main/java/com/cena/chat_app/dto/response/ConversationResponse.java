@@ -21,4 +21,6 @@ public class ConversationResponse {
     private Instant lastMessageAt;
     private Instant createdAt;
     private List<ConversationMemberResponse> members;
+    private MessageResponse lastMessage;
+    private long unreadCount;
 }
@@ -0,0 +1,23 @@
+package com.cena.chat_app.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MessageReceiptResponse {
+    private String clientMessageId;
+    private String action;
+    private String status;
+    private String code;
+    private String message;
+    private String messageId;
+    private String conversationId;
+    private Long seq;
+}
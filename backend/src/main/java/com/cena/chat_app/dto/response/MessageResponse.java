@@ -14,6 +14,7 @@ import java.util.Map;
 public class MessageResponse {
     private String id;
     private String conversationId;
+    private Long seq;
     private String senderId;
     private String senderUsername;
     private String senderDisplayName;
@@ -23,8 +24,10 @@ public class MessageResponse {
     private String mediaUrl;
     private Map<String, Object> mediaMetadata;
     private String replyTo;
-    private Map<String, String> reactions;
+    private Map<String, Long> reactionCounts;
+    private String myReaction;
     private boolean isDeleted;
     private String createdAt;
     private String updatedAt;
+    private String eventOffset;
 }
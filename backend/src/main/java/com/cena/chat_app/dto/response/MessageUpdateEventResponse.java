@@ -17,4 +17,5 @@ public class MessageUpdateEventResponse {
     private String content;
     private String updatedAt;
     private Boolean isDeleted;
+    private String eventOffset;
 }
@@ -16,6 +16,8 @@ public class ReactionEventResponse {
     private String conversationId;
     private String userId;
     private String reactionType;
+    private String previousReactionType;
     private boolean added;
-    private Map<String, String> allReactions;
+    private Map<String, Long> reactionCounts;
+    private String eventOffset;
 }
@@ -0,0 +1,18 @@
+package com.cena.chat_app.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReactionPageResponse {
+    private List<ReactionUserResponse> reactions;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,19 @@
+package com.cena.chat_app.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayEventResponse {
+    private String type;
+    private String eventOffset;
+
+    @JsonRawValue
+    private String payload;
+}
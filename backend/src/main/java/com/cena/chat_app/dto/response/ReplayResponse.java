@@ -0,0 +1,19 @@
+package com.cena.chat_app.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayResponse {
+    private String conversationId;
+    private List<ReplayEventResponse> events;
+    private String latestOffset;
+    private boolean resyncRequired;
+}
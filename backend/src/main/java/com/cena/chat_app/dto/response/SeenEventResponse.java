@@ -13,4 +13,5 @@ public class SeenEventResponse {
     private String conversationId;
     private String userId;
     private String lastReadMessageId;
+    private String eventOffset;
 }
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -13,4 +15,6 @@ public class TypingEventResponse {
     private String conversationId;
     private String userId;
     private boolean isTyping;
+    private List<String> typingUserIds;
+    private List<String> excludedUserIds;
 }
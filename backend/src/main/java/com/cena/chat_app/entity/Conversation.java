@@ -25,10 +25,20 @@ public class Conversation {
     private String name;
     private String avatarUrl;
     private String ownerId;
+
+    @Indexed(unique = true, sparse = true)
+    private String directKey;
+
     private String lastMessageId;
 
     @Indexed(direction = DESCENDING)
     private Instant lastMessageAt;
 
     private Instant createdAt;
+
+    public static String directKeyOf(String userId1, String userId2) {
+        return userId1.compareTo(userId2) <= 0
+            ? userId1 + ":" + userId2
+            : userId2 + ":" + userId1;
+    }
 }
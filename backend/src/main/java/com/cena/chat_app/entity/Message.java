@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -13,7 +14,9 @@ import java.time.Instant;
 import java.util.Map;
 
 @Document(collection = "messages")
-@CompoundIndex(name = "conversationId_createdAt_desc_idx", def = "{'conversationId': 1, 'createdAt': -1}")
+@CompoundIndexes({
+    @CompoundIndex(name = "conversationId_createdAt_id_desc_idx", def = "{'conversationId': 1, 'createdAt': -1, '_id': -1}")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,6 +26,7 @@ public class Message {
     private String id;
 
     private String conversationId;
+    private Long seq;
     private String senderId;
     private String type;
 
@@ -32,6 +36,7 @@ public class Message {
     private Map<String, Object> mediaMetadata;
     private String replyTo;
     private Map<String, String> reactions;
+    private Map<String, Long> reactionCounts;
     private boolean isDeleted;
     private Instant createdAt;
     private Instant updatedAt;
@@ -20,9 +20,16 @@ public enum ErrorCode {
     MESSAGE_EDIT_DENIED("MESSAGE_EDIT_DENIED", "You can only edit your own messages", HttpStatus.FORBIDDEN),
     MESSAGE_DELETE_DENIED("MESSAGE_DELETE_DENIED", "You can only delete your own messages", HttpStatus.FORBIDDEN),
     MESSAGE_ALREADY_DELETED("MESSAGE_ALREADY_DELETED", "Message has already been deleted", HttpStatus.BAD_REQUEST),
+    INVALID_REACTION("INVALID_REACTION", "Invalid reaction type", HttpStatus.BAD_REQUEST),
+    REACTION_CONFLICT("REACTION_CONFLICT", "Reaction was changed concurrently, please retry", HttpStatus.CONFLICT),
     MESSAGE_NOT_EDITABLE("MESSAGE_NOT_EDITABLE", "Only TEXT messages can be edited", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR("INVALID_CURSOR", "Invalid pagination cursor", HttpStatus.BAD_REQUEST),
+    INVALID_PAGE_SIZE("INVALID_PAGE_SIZE", "Page size must be at least 1", HttpStatus.BAD_REQUEST),
+    INVALID_SEQUENCE_RANGE("INVALID_SEQUENCE_RANGE", "Invalid message sequence range", HttpStatus.BAD_REQUEST),
     REPLY_MESSAGE_NOT_FOUND("REPLY_MESSAGE_NOT_FOUND", "Replied message not found", HttpStatus.NOT_FOUND),
     REPLY_MESSAGE_DIFFERENT_CONVERSATION("REPLY_MESSAGE_DIFFERENT_CONVERSATION", "Cannot reply to message from different conversation", HttpStatus.BAD_REQUEST),
+    INVALID_CLIENT_MESSAGE_ID("INVALID_CLIENT_MESSAGE_ID", "clientMessageId must be at most 128 characters", HttpStatus.BAD_REQUEST),
+    MESSAGE_SEND_IN_PROGRESS("MESSAGE_SEND_IN_PROGRESS", "A message with this clientMessageId is still being processed", HttpStatus.CONFLICT),
     NOT_GROUP_CONVERSATION("NOT_GROUP_CONVERSATION", "This operation is only allowed for group conversations", HttpStatus.BAD_REQUEST),
     INSUFFICIENT_PERMISSION("INSUFFICIENT_PERMISSION", "You do not have permission to perform this action", HttpStatus.FORBIDDEN),
     OWNER_CANNOT_LEAVE("OWNER_CANNOT_LEAVE", "Owner must transfer ownership before leaving the group", HttpStatus.BAD_REQUEST),
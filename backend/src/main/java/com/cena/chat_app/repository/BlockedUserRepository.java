@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BlockedUserRepository extends MongoRepository<BlockedUser, String> {
+public interface BlockedUserRepository extends MongoRepository<BlockedUser, String>, BlockedUserRepositoryCustom {
     Optional<BlockedUser> findByBlockerIdAndBlockedId(String blockerId, String blockedId);
 
     List<BlockedUser> findByBlockerId(String blockerId);
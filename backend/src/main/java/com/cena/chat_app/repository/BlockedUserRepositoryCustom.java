@@ -0,0 +1,10 @@
+package com.cena.chat_app.repository;
+
+import com.cena.chat_app.entity.BlockedUser;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BlockedUserRepositoryCustom {
+    List<BlockedUser> findBlockersOf(Collection<String> blockedIds);
+}
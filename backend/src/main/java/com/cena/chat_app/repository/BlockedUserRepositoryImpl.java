@@ -0,0 +1,42 @@
+package com.cena.chat_app.repository;
+
+import com.cena.chat_app.entity.BlockedUser;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Slf4j
+@Repository
+public class BlockedUserRepositoryImpl implements BlockedUserRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public BlockedUserRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @PostConstruct
+    public void ensureBlockedIndex() {
+        try {
+            mongoTemplate.indexOps(BlockedUser.class)
+                .createIndex(new CompoundIndexDefinition(new Document("blockedId", 1).append("blockerId", 1))
+                    .named("blocked_blocker_idx"));
+        } catch (Exception e) {
+            log.error("Failed to create blocked_blocker_idx index - error={}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<BlockedUser> findBlockersOf(Collection<String> blockedIds) {
+        Query query = new Query(Criteria.where("blockedId").in(blockedIds));
+        query.fields().include("blockedId").include("blockerId");
+        return mongoTemplate.find(query, BlockedUser.class);
+    }
+}
@@ -3,12 +3,14 @@ package com.cena.chat_app.repository;
 import com.cena.chat_app.entity.ConversationMember;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ConversationMemberRepository extends MongoRepository<ConversationMember, String> {
+public interface ConversationMemberRepository extends MongoRepository<ConversationMember, String>, ConversationMemberRepositoryCustom {
     List<ConversationMember> findByUserId(String userId);
     List<ConversationMember> findByConversationId(String conversationId);
+    List<ConversationMember> findByConversationIdIn(Collection<String> conversationIds);
     Optional<ConversationMember> findByConversationIdAndUserId(String conversationId, String userId);
     long countByConversationId(String conversationId);
 }
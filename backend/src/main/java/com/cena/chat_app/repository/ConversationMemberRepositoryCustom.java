@@ -0,0 +1,7 @@
+package com.cena.chat_app.repository;
+
+import com.cena.chat_app.entity.ConversationMember;
+
+public interface ConversationMemberRepositoryCustom {
+    void upsertMember(ConversationMember member);
+}
@@ -0,0 +1,33 @@
+package com.cena.chat_app.repository;
+
+import com.cena.chat_app.entity.ConversationMember;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ConversationMemberRepositoryImpl implements ConversationMemberRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public ConversationMemberRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void upsertMember(ConversationMember member) {
+        Query query = new Query(Criteria.where("conversationId").is(member.getConversationId())
+            .and("userId").is(member.getUserId()));
+        Update update = new Update()
+            .setOnInsert("role", member.getRole())
+            .setOnInsert("canSendMessage", member.isCanSendMessage())
+            .setOnInsert("joinedAt", member.getJoinedAt())
+            .setOnInsert("unreadCount", member.getUnreadCount());
+        try {
+            mongoTemplate.upsert(query, update, ConversationMember.class);
+        } catch (DuplicateKeyException alreadyInserted) {
+        }
+    }
+}
@@ -3,5 +3,10 @@ package com.cena.chat_app.repository;
 import com.cena.chat_app.entity.Conversation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface ConversationRepository extends MongoRepository<Conversation, String> {
+import java.util.List;
+import java.util.Optional;
+
+public interface ConversationRepository extends MongoRepository<Conversation, String>, ConversationRepositoryCustom {
+    Optional<Conversation> findByDirectKey(String directKey);
+    List<Conversation> findByTypeAndDirectKeyIsNull(String type);
 }
@@ -0,0 +1,9 @@
+package com.cena.chat_app.repository;
+
+import java.time.Instant;
+
+public interface ConversationRepositoryCustom {
+    void updateLastMessage(String conversationId, String lastMessageId, Instant lastMessageAt);
+
+    void assignDirectKey(String conversationId, String directKey);
+}
@@ -0,0 +1,51 @@
+package com.cena.chat_app.repository;
+
+import com.cena.chat_app.entity.Conversation;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Slf4j
+@Repository
+public class ConversationRepositoryImpl implements ConversationRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public ConversationRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @PostConstruct
+    public void ensureDirectKeyIndex() {
+        try {
+            mongoTemplate.indexOps(Conversation.class)
+                .createIndex(new Index().on("directKey", Sort.Direction.ASC).unique().sparse()
+                    .named("directKey"));
+        } catch (Exception e) {
+            log.error("Failed to create unique directKey index, duplicate direct conversations are not prevented - error={}",
+                e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void updateLastMessage(String conversationId, String lastMessageId, Instant lastMessageAt) {
+        Query query = new Query(Criteria.where("_id").is(conversationId));
+        Update update = new Update()
+            .set("lastMessageId", lastMessageId)
+            .set("lastMessageAt", lastMessageAt);
+        mongoTemplate.updateFirst(query, update, Conversation.class);
+    }
+
+    @Override
+    public void assignDirectKey(String conversationId, String directKey) {
+        Query query = new Query(Criteria.where("_id").is(conversationId));
+        mongoTemplate.updateFirst(query, new Update().set("directKey", directKey), Conversation.class);
+    }
+}
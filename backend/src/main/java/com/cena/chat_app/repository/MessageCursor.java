@@ -0,0 +1,24 @@
+package com.cena.chat_app.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+public record MessageCursor(Instant createdAt, String messageId) {
+    private static final String SEPARATOR = ":";
+
+    public static MessageCursor decode(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separatorIndex = decoded.indexOf(SEPARATOR);
+        if (separatorIndex <= 0 || separatorIndex == decoded.length() - 1) {
+            throw new IllegalArgumentException("Malformed message cursor");
+        }
+        long epochMillis = Long.parseLong(decoded.substring(0, separatorIndex));
+        return new MessageCursor(Instant.ofEpochMilli(epochMillis), decoded.substring(separatorIndex + 1));
+    }
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + SEPARATOR + messageId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
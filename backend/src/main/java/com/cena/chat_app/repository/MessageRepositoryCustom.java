@@ -4,6 +4,31 @@ import com.cena.chat_app.entity.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
 public interface MessageRepositoryCustom {
     Page<Message> searchMessagesInConversation(String conversationId, String query, Pageable pageable);
+
+    List<Message> findPageBefore(String conversationId, MessageCursor cursor, int limit);
+
+    List<Message> findPageAfter(String conversationId, MessageCursor cursor, int limit);
+
+    List<Message> findBySeqRange(String conversationId, long fromSeq, long toSeq);
+
+    long findMaxSeq(String conversationId);
+
+    Optional<MessageUpdateTarget> findUpdateTarget(String messageId, String userId);
+
+    Message editTextIfOwned(String messageId, String senderId, String content, Instant updatedAt);
+
+    Message deleteIfOwned(String messageId, String senderId, Instant updatedAt);
+
+    Message findReactionState(String messageId, String userId);
+
+    Message compareAndSetReaction(String messageId, String userId, String expected, String replacement,
+                                  Instant updatedAt);
+
+    List<ReactionEntry> findReactionPage(String messageId, String reactionType, String afterUserId, int limit);
 }
@@ -1,21 +1,33 @@
 package com.cena.chat_app.repository;
 
+import com.cena.chat_app.entity.ConversationMember;
 import com.cena.chat_app.entity.Message;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
 import org.springframework.data.mongodb.core.index.TextIndexDefinition;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
+@Slf4j
 @Repository
 public class MessageRepositoryImpl implements MessageRepositoryCustom {
     private final MongoTemplate mongoTemplate;
@@ -35,6 +47,40 @@ public class MessageRepositoryImpl implements MessageRepositoryCustom {
         }
     }
 
+    @PostConstruct
+    public void ensureHistoryIndex() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Message.class);
+        try {
+            indexOps.createIndex(new CompoundIndexDefinition(new Document("conversationId", 1).append("createdAt", -1).append("_id", -1))
+                .named("conversationId_createdAt_id_desc_idx"));
+        } catch (Exception e) {
+            log.error("Failed to create conversationId_createdAt_id_desc_idx index - error={}", e.getMessage(), e);
+            return;
+        }
+
+        try {
+            boolean superseded = indexOps.getIndexInfo().stream()
+                .anyMatch(index -> "conversationId_createdAt_desc_idx".equals(index.getName()));
+            if (superseded) {
+                indexOps.dropIndex("conversationId_createdAt_desc_idx");
+                log.info("Dropped superseded conversationId_createdAt_desc_idx index");
+            }
+        } catch (Exception e) {
+            log.error("Failed to drop superseded conversationId_createdAt_desc_idx index - error={}", e.getMessage(), e);
+        }
+    }
+
+    @PostConstruct
+    public void ensureSequenceIndex() {
+        try {
+            mongoTemplate.indexOps(Message.class)
+                .createIndex(new CompoundIndexDefinition(new Document("conversationId", 1).append("seq", 1))
+                    .named("conversationId_seq_idx"));
+        } catch (Exception e) {
+            log.error("Failed to create conversationId_seq_idx index - error={}", e.getMessage(), e);
+        }
+    }
+
     @Override
     public Page<Message> searchMessagesInConversation(String conversationId, String query, Pageable pageable) {
         TextCriteria textCriteria = TextCriteria.forDefaultLanguage().matching(query);
@@ -58,4 +104,182 @@ public class MessageRepositoryImpl implements MessageRepositoryCustom {
 
         return new PageImpl<>(messages, pageable, total);
     }
+
+    @Override
+    public List<Message> findPageBefore(String conversationId, MessageCursor cursor, int limit) {
+        Query query = new Query(Criteria.where("conversationId").is(conversationId));
+        if (cursor != null) {
+            query.addCriteria(new Criteria().orOperator(
+                Criteria.where("createdAt").lt(cursor.createdAt()),
+                new Criteria().andOperator(
+                    Criteria.where("createdAt").is(cursor.createdAt()),
+                    Criteria.where("_id").lt(toObjectId(cursor.messageId())))));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")));
+        query.limit(limit);
+        return mongoTemplate.find(query, Message.class);
+    }
+
+    @Override
+    public List<Message> findPageAfter(String conversationId, MessageCursor cursor, int limit) {
+        Query query = new Query(Criteria.where("conversationId").is(conversationId));
+        query.addCriteria(new Criteria().orOperator(
+            Criteria.where("createdAt").gt(cursor.createdAt()),
+            new Criteria().andOperator(
+                Criteria.where("createdAt").is(cursor.createdAt()),
+                Criteria.where("_id").gt(toObjectId(cursor.messageId())))));
+        query.with(Sort.by(Sort.Direction.ASC, "createdAt").and(Sort.by(Sort.Direction.ASC, "_id")));
+        query.limit(limit);
+        return mongoTemplate.find(query, Message.class);
+    }
+
+    @Override
+    public List<Message> findBySeqRange(String conversationId, long fromSeq, long toSeq) {
+        Query query = new Query(Criteria.where("conversationId").is(conversationId)
+            .and("seq").gte(fromSeq).lte(toSeq));
+        query.with(Sort.by(Sort.Direction.ASC, "seq"));
+        return mongoTemplate.find(query, Message.class);
+    }
+
+    @Override
+    public long findMaxSeq(String conversationId) {
+        Query query = new Query(Criteria.where("conversationId").is(conversationId).and("seq").ne(null));
+        query.with(Sort.by(Sort.Direction.DESC, "seq"));
+        query.fields().include("seq");
+        Message latest = mongoTemplate.findOne(query, Message.class);
+        return latest != null && latest.getSeq() != null ? latest.getSeq() : 0L;
+    }
+
+    @Override
+    public Optional<MessageUpdateTarget> findUpdateTarget(String messageId, String userId) {
+        List<Document> pipeline = List.of(
+            new Document("$match", new Document("_id", toObjectId(messageId))),
+            new Document("$project", new Document("conversationId", 1)
+                .append("senderId", 1)
+                .append("type", 1)
+                .append("isDeleted", 1)),
+            new Document("$lookup", new Document("from", mongoTemplate.getCollectionName(ConversationMember.class))
+                .append("let", new Document("conversationId", "$conversationId"))
+                .append("pipeline", List.of(
+                    new Document("$match", new Document("userId", userId)
+                        .append("$expr", new Document("$eq", List.of("$conversationId", "$$conversationId")))),
+                    new Document("$limit", 1),
+                    new Document("$project", new Document("_id", 1))))
+                .append("as", "membership")));
+
+        Document document = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Message.class))
+            .aggregate(pipeline)
+            .first();
+        if (document == null) {
+            return Optional.empty();
+        }
+        List<?> membership = document.getList("membership", Object.class);
+        return Optional.of(new MessageUpdateTarget(document.getString("conversationId"),
+            document.getString("senderId"), document.getString("type"),
+            Boolean.TRUE.equals(document.getBoolean("isDeleted")),
+            membership != null && !membership.isEmpty()));
+    }
+
+    @Override
+    public Message editTextIfOwned(String messageId, String senderId, String content, Instant updatedAt) {
+        Query query = ownedMessageQuery(messageId, senderId)
+            .addCriteria(Criteria.where("type").is("TEXT"));
+        Update update = new Update()
+            .set("content", content)
+            .set("updatedAt", updatedAt);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Message.class);
+    }
+
+    @Override
+    public Message deleteIfOwned(String messageId, String senderId, Instant updatedAt) {
+        Query query = ownedMessageQuery(messageId, senderId);
+        Update update = new Update()
+            .set("isDeleted", true)
+            .unset("content")
+            .set("updatedAt", updatedAt);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Message.class);
+    }
+
+    private Query ownedMessageQuery(String messageId, String senderId) {
+        Query query = new Query(Criteria.where("_id").is(messageId)
+            .and("senderId").is(senderId)
+            .and("isDeleted").is(false));
+        query.fields().include("conversationId").include("content").include("isDeleted").include("updatedAt");
+        return query;
+    }
+
+    @Override
+    public Message findReactionState(String messageId, String userId) {
+        Query query = new Query(Criteria.where("_id").is(messageId));
+        query.fields().include("conversationId").include(reactionField(userId));
+        return mongoTemplate.findOne(query, Message.class);
+    }
+
+    @Override
+    public Message compareAndSetReaction(String messageId, String userId, String expected, String replacement,
+                                         Instant updatedAt) {
+        Criteria criteria = Criteria.where("_id").is(messageId);
+        if (expected == null) {
+            criteria.and(reactionField(userId)).exists(false);
+        } else {
+            criteria.and(reactionField(userId)).is(expected);
+        }
+
+        Update update = new Update().set("updatedAt", updatedAt);
+        if (replacement == null) {
+            update.unset(reactionField(userId));
+        } else {
+            update.set(reactionField(userId), replacement);
+            update.inc(reactionCountField(replacement), 1L);
+        }
+        if (expected != null) {
+            update.inc(reactionCountField(expected), -1L);
+        }
+
+        Query query = new Query(criteria);
+        query.fields().include("conversationId").include("reactionCounts");
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Message.class);
+    }
+
+    @Override
+    public List<ReactionEntry> findReactionPage(String messageId, String reactionType, String afterUserId, int limit) {
+        Document entryFilter = new Document();
+        if (afterUserId != null) {
+            entryFilter.append("reaction.k", new Document("$gt", afterUserId));
+        }
+        if (reactionType != null) {
+            entryFilter.append("reaction.v", reactionType);
+        }
+
+        List<Document> pipeline = List.of(
+            new Document("$match", new Document("_id", toObjectId(messageId))),
+            new Document("$project", new Document("reaction",
+                new Document("$objectToArray", new Document("$ifNull", List.of("$reactions", new Document()))))),
+            new Document("$unwind", "$reaction"),
+            new Document("$match", entryFilter),
+            new Document("$sort", new Document("reaction.k", 1)),
+            new Document("$limit", limit),
+            new Document("$project", new Document("_id", 0)
+                .append("userId", "$reaction.k")
+                .append("reactionType", "$reaction.v")));
+
+        List<ReactionEntry> entries = new ArrayList<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Message.class))
+            .aggregate(pipeline)
+            .forEach(document -> entries.add(new ReactionEntry(document.getString("userId"),
+                document.getString("reactionType"))));
+        return entries;
+    }
+
+    private String reactionField(String userId) {
+        return "reactions." + userId;
+    }
+
+    private String reactionCountField(String reactionType) {
+        return "reactionCounts." + reactionType;
+    }
+
+    private Object toObjectId(String messageId) {
+        return ObjectId.isValid(messageId) ? new ObjectId(messageId) : messageId;
+    }
 }
@@ -0,0 +1,5 @@
+package com.cena.chat_app.repository;
+
+public record MessageUpdateTarget(String conversationId, String senderId, String type, boolean deleted,
+                                  boolean member) {
+}
@@ -0,0 +1,4 @@
+package com.cena.chat_app.repository;
+
+public record ReactionEntry(String userId, String reactionType) {
+}
@@ -1,5 +1,6 @@
 package com.cena.chat_app.service;
 
+import com.cena.chat_app.cache.BlockGraphCache;
 import com.cena.chat_app.dto.ApiResponse;
 import com.cena.chat_app.dto.response.BlockedUserResponse;
 import com.cena.chat_app.entity.BlockedUser;
@@ -18,20 +19,24 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class BlockingService {
     private final BlockedUserRepository blockedUserRepository;
     private final UserRepository userRepository;
+    private final BlockGraphCache blockGraphCache;
     private final Counter usersBlocked;
     private final Counter usersUnblocked;
 
     public BlockingService(BlockedUserRepository blockedUserRepository,
                           UserRepository userRepository,
+                          BlockGraphCache blockGraphCache,
                           MeterRegistry meterRegistry) {
         this.blockedUserRepository = blockedUserRepository;
         this.userRepository = userRepository;
+        this.blockGraphCache = blockGraphCache;
         this.usersBlocked = meterRegistry.counter("chat.blocking.users.blocked");
         this.usersUnblocked = meterRegistry.counter("chat.blocking.users.unblocked");
     }
@@ -58,6 +63,7 @@ public class BlockingService {
                     .createdAt(Instant.now())
                     .build();
             blockedUserRepository.save(blockedUser);
+            blockGraphCache.invalidate(targetUserId);
             usersBlocked.increment();
         }
 
@@ -76,6 +82,7 @@ public class BlockingService {
         }
 
         blockedUserRepository.deleteByBlockerIdAndBlockedId(currentUserId, targetUserId);
+        blockGraphCache.invalidate(targetUserId);
         usersUnblocked.increment();
 
         return ApiResponse.<Void>builder()
@@ -122,16 +129,21 @@ public class BlockingService {
     }
 
     public boolean isBlocked(String userId1, String userId2) {
-        return blockedUserRepository.existsByBlockerIdAndBlockedId(userId1, userId2);
+        return blockGraphCache.getBlockedBy(userId2).contains(userId1);
     }
 
     public boolean areUsersBlockedEitherWay(String userId1, String userId2) {
-        return isBlocked(userId1, userId2) || isBlocked(userId2, userId1);
+        Map<String, Set<String>> blockedBy = blockGraphCache.getBlockedBy(List.of(userId1, userId2));
+        return blockedBy.get(userId2).contains(userId1) || blockedBy.get(userId1).contains(userId2);
     }
 
     public boolean isBlockedByAnyMember(String senderId, List<String> memberIds) {
+        Set<String> blockers = blockGraphCache.getBlockedBy(senderId);
+        if (blockers.isEmpty()) {
+            return false;
+        }
         for (String memberId : memberIds) {
-            if (!memberId.equals(senderId) && isBlocked(memberId, senderId)) {
+            if (!memberId.equals(senderId) && blockers.contains(memberId)) {
                 return true;
             }
         }
@@ -5,16 +5,20 @@ import com.cena.chat_app.dto.request.CreateDirectConversationRequest;
 import com.cena.chat_app.dto.request.CreateGroupConversationRequest;
 import com.cena.chat_app.dto.response.ConversationMemberResponse;
 import com.cena.chat_app.dto.response.ConversationResponse;
+import com.cena.chat_app.dto.response.MessageResponse;
 import com.cena.chat_app.dto.response.SeenEventResponse;
 import com.cena.chat_app.dto.response.UnreadUpdateResponse;
 import com.cena.chat_app.entity.Conversation;
 import com.cena.chat_app.entity.ConversationMember;
+import com.cena.chat_app.entity.Message;
 import com.cena.chat_app.entity.User;
 import com.cena.chat_app.exception.AppException;
 import com.cena.chat_app.exception.ErrorCode;
 import com.cena.chat_app.repository.ConversationMemberRepository;
 import com.cena.chat_app.repository.ConversationRepository;
+import com.cena.chat_app.repository.MessageRepository;
 import com.cena.chat_app.repository.UserRepository;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -25,28 +29,36 @@ import java.util.stream.Collectors;
 
 @Service
 public class ConversationService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ConversationRepository conversationRepository;
     private final ConversationMemberRepository conversationMemberRepository;
+    private final MessageRepository messageRepository;
     private final UserRepository userRepository;
     private final RedisUnreadService redisUnreadService;
     private final RedisUnreadPublisher redisUnreadPublisher;
     private final RedisSeenPublisher redisSeenPublisher;
     private final BlockingService blockingService;
+    private final RedisInboxService redisInboxService;
 
     public ConversationService(ConversationRepository conversationRepository,
                               ConversationMemberRepository conversationMemberRepository,
+                              MessageRepository messageRepository,
                               UserRepository userRepository,
                               RedisUnreadService redisUnreadService,
                               RedisUnreadPublisher redisUnreadPublisher,
                               RedisSeenPublisher redisSeenPublisher,
-                              BlockingService blockingService) {
+                              BlockingService blockingService,
+                              RedisInboxService redisInboxService) {
         this.conversationRepository = conversationRepository;
         this.conversationMemberRepository = conversationMemberRepository;
+        this.messageRepository = messageRepository;
         this.userRepository = userRepository;
         this.redisUnreadService = redisUnreadService;
         this.redisUnreadPublisher = redisUnreadPublisher;
         this.redisSeenPublisher = redisSeenPublisher;
         this.blockingService = blockingService;
+        this.redisInboxService = redisInboxService;
     }
 
     public ApiResponse<ConversationResponse> createDirectConversation(CreateDirectConversationRequest request) {
@@ -85,48 +97,33 @@ public class ConversationService {
                 .build();
         }
 
-        Conversation existingConversation = findExistingDirectConversation(currentUserId, request.getTargetUserId());
+        String directKey = Conversation.directKeyOf(currentUserId, request.getTargetUserId());
+        Conversation existingConversation = conversationRepository.findByDirectKey(directKey).orElse(null);
         if (existingConversation != null) {
-            ConversationResponse response = buildConversationResponse(existingConversation);
-            return ApiResponse.<ConversationResponse>builder()
-                .status("success")
-                .code("SUCCESS")
-                .message("Conversation already exists")
-                .data(response)
-                .build();
+            return buildExistingDirectConversationResponse(existingConversation, currentUserId,
+                request.getTargetUserId());
         }
 
         Conversation conversation = Conversation.builder()
             .type("DIRECT")
             .ownerId(null)
+            .directKey(directKey)
             .lastMessageAt(Instant.now())
             .createdAt(Instant.now())
             .build();
 
-        conversation = conversationRepository.save(conversation);
-
-        ConversationMember member1 = ConversationMember.builder()
-            .conversationId(conversation.getId())
-            .userId(currentUserId)
-            .role("MEMBER")
-            .canSendMessage(true)
-            .joinedAt(Instant.now())
-            .unreadCount(0L)
-            .build();
-
-        ConversationMember member2 = ConversationMember.builder()
-            .conversationId(conversation.getId())
-            .userId(request.getTargetUserId())
-            .role("MEMBER")
-            .canSendMessage(true)
-            .joinedAt(Instant.now())
-            .unreadCount(0L)
-            .build();
+        try {
+            conversation = conversationRepository.save(conversation);
+        } catch (DuplicateKeyException e) {
+            existingConversation = conversationRepository.findByDirectKey(directKey)
+                .orElseThrow(() -> e);
+            return buildExistingDirectConversationResponse(existingConversation, currentUserId,
+                request.getTargetUserId());
+        }
 
-        conversationMemberRepository.save(member1);
-        conversationMemberRepository.save(member2);
+        ensureDirectMembers(conversation, currentUserId, request.getTargetUserId());
 
-        ConversationResponse response = buildConversationResponse(conversation);
+        ConversationResponse response = buildConversationResponse(conversation, currentUserId);
 
         return ApiResponse.<ConversationResponse>builder()
             .status("success")
@@ -168,6 +165,9 @@ public class ConversationService {
 
         conversationMemberRepository.save(ownerMember);
 
+        List<String> addedMemberIds = new ArrayList<>();
+        addedMemberIds.add(currentUserId);
+
         if (request.getMemberIds() != null && !request.getMemberIds().isEmpty()) {
             for (String memberId : request.getMemberIds()) {
                 if (!memberId.equals(currentUserId)) {
@@ -183,11 +183,14 @@ public class ConversationService {
                         .unreadCount(0L)
                         .build();
                     conversationMemberRepository.save(member);
+                    addedMemberIds.add(memberId);
                 }
             }
         }
 
-        ConversationResponse response = buildConversationResponse(conversation);
+        redisInboxService.touch(conversation.getId(), addedMemberIds, conversation.getLastMessageAt());
+
+        ConversationResponse response = buildConversationResponse(conversation, currentUserId);
 
         return ApiResponse.<ConversationResponse>builder()
             .status("success")
@@ -198,6 +201,10 @@ public class ConversationService {
     }
 
     public ApiResponse<List<ConversationResponse>> getConversations() {
+        return getConversations(0, 0);
+    }
+
+    public ApiResponse<List<ConversationResponse>> getConversations(int page, int size) {
         String currentUserId = getCurrentUserId();
         if (currentUserId == null) {
             return ApiResponse.<List<ConversationResponse>>builder()
@@ -207,11 +214,8 @@ public class ConversationService {
                 .build();
         }
 
-        List<ConversationMember> userConversationMembers = conversationMemberRepository.findByUserId(currentUserId);
-
-        List<String> conversationIds = userConversationMembers.stream()
-            .map(ConversationMember::getConversationId)
-            .collect(Collectors.toList());
+        List<String> conversationIds = redisInboxService.getPage(currentUserId, Math.max(page, 0),
+            Math.min(Math.max(size, 0), MAX_PAGE_SIZE));
 
         if (conversationIds.isEmpty()) {
             return ApiResponse.<List<ConversationResponse>>builder()
@@ -222,21 +226,25 @@ public class ConversationService {
                 .build();
         }
 
-        List<Conversation> conversations = conversationRepository.findAllById(conversationIds);
-
-        conversations.sort((c1, c2) -> {
-            Instant t1 = c1.getLastMessageAt();
-            Instant t2 = c2.getLastMessageAt();
-            if (t1 == null && t2 == null) return 0;
-            if (t1 == null) return 1;
-            if (t2 == null) return -1;
-            return t2.compareTo(t1);
-        });
+        Map<String, Conversation> conversationsById = conversationRepository.findAllById(conversationIds).stream()
+            .collect(Collectors.toMap(Conversation::getId, c -> c));
 
-        List<ConversationResponse> responses = conversations.stream()
-            .map(this::buildConversationResponse)
+        List<Conversation> conversations = conversationIds.stream()
+            .map(conversationsById::get)
+            .filter(Objects::nonNull)
             .collect(Collectors.toList());
 
+        List<ConversationResponse> responses = new ArrayList<>();
+        for (ConversationResponse response : buildConversationResponses(conversations, currentUserId)) {
+            boolean member = response.getMembers().stream()
+                .anyMatch(m -> currentUserId.equals(m.getUserId()));
+            if (member) {
+                responses.add(response);
+            } else {
+                redisInboxService.remove(currentUserId, response.getId());
+            }
+        }
+
         return ApiResponse.<List<ConversationResponse>>builder()
             .status("success")
             .code("SUCCESS")
@@ -291,33 +299,67 @@ public class ConversationService {
                 .build();
     }
 
-    private Conversation findExistingDirectConversation(String userId1, String userId2) {
-        List<ConversationMember> user1Conversations = conversationMemberRepository.findByUserId(userId1);
-
-        for (ConversationMember member : user1Conversations) {
-            Conversation conversation = conversationRepository.findById(member.getConversationId()).orElse(null);
-            if (conversation != null && "DIRECT".equals(conversation.getType())) {
-                List<ConversationMember> members = conversationMemberRepository.findByConversationId(conversation.getId());
-                if (members.size() == 2) {
-                    Set<String> memberUserIds = members.stream()
-                        .map(ConversationMember::getUserId)
-                        .collect(Collectors.toSet());
-                    if (memberUserIds.contains(userId1) && memberUserIds.contains(userId2)) {
-                        return conversation;
-                    }
-                }
-            }
+    private void ensureDirectMembers(Conversation conversation, String currentUserId, String targetUserId) {
+        for (String userId : List.of(currentUserId, targetUserId)) {
+            conversationMemberRepository.upsertMember(ConversationMember.builder()
+                .conversationId(conversation.getId())
+                .userId(userId)
+                .role("MEMBER")
+                .canSendMessage(true)
+                .joinedAt(Instant.now())
+                .unreadCount(0L)
+                .build());
         }
-        return null;
+
+        redisInboxService.touch(conversation.getId(), List.of(currentUserId, targetUserId),
+            conversation.getLastMessageAt());
     }
 
-    private ConversationResponse buildConversationResponse(Conversation conversation) {
-        List<ConversationMember> members = conversationMemberRepository.findByConversationId(conversation.getId());
+    private ApiResponse<ConversationResponse> buildExistingDirectConversationResponse(Conversation conversation,
+                                                                                     String currentUserId,
+                                                                                     String targetUserId) {
+        ensureDirectMembers(conversation, currentUserId, targetUserId);
+        ConversationResponse response = buildConversationResponse(conversation, currentUserId);
+        return ApiResponse.<ConversationResponse>builder()
+            .status("success")
+            .code("SUCCESS")
+            .message("Conversation already exists")
+            .data(response)
+            .build();
+    }
 
-        List<String> userIds = members.stream()
-            .map(ConversationMember::getUserId)
+    private ConversationResponse buildConversationResponse(Conversation conversation, String viewerId) {
+        return buildConversationResponses(List.of(conversation), viewerId).get(0);
+    }
+
+    private List<ConversationResponse> buildConversationResponses(List<Conversation> conversations, String viewerId) {
+        List<String> conversationIds = conversations.stream()
+            .map(Conversation::getId)
             .collect(Collectors.toList());
 
+        Map<String, List<ConversationMember>> membersByConversation = conversationMemberRepository
+            .findByConversationIdIn(conversationIds).stream()
+            .collect(Collectors.groupingBy(ConversationMember::getConversationId));
+
+        List<String> lastMessageIds = conversations.stream()
+            .map(Conversation::getLastMessageId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
+        Map<String, Message> lastMessages = new HashMap<>();
+        if (!lastMessageIds.isEmpty()) {
+            lastMessages = messageRepository.findAllById(lastMessageIds).stream()
+                .collect(Collectors.toMap(Message::getId, m -> m));
+        }
+
+        Map<String, Long> unreadCounts = redisUnreadService.getUnreadCounts(viewerId, conversationIds);
+
+        Set<String> userIds = membersByConversation.values().stream()
+            .flatMap(List::stream)
+            .map(ConversationMember::getUserId)
+            .collect(Collectors.toSet());
+        lastMessages.values().forEach(message -> userIds.add(message.getSenderId()));
+
         Map<String, User> usersMap = new HashMap<>();
         if (!userIds.isEmpty()) {
             List<User> users = userRepository.findAllById(userIds);
@@ -325,29 +367,60 @@ public class ConversationService {
         }
 
         Map<String, User> finalUsersMap = usersMap;
-        List<ConversationMemberResponse> memberResponses = members.stream()
-            .map(member -> {
-                User user = finalUsersMap.get(member.getUserId());
-                return ConversationMemberResponse.builder()
-                    .userId(member.getUserId())
-                    .username(user != null ? user.getUsername() : null)
-                    .displayName(user != null ? user.getDisplayName() : null)
-                    .avatarUrl(user != null ? user.getAvatarUrl() : null)
-                    .role(member.getRole())
-                    .joinedAt(member.getJoinedAt())
+        Map<String, Message> finalLastMessages = lastMessages;
+        return conversations.stream()
+            .map(conversation -> {
+                List<ConversationMemberResponse> memberResponses = membersByConversation
+                    .getOrDefault(conversation.getId(), Collections.emptyList()).stream()
+                    .map(member -> {
+                        User user = finalUsersMap.get(member.getUserId());
+                        return ConversationMemberResponse.builder()
+                            .userId(member.getUserId())
+                            .username(user != null ? user.getUsername() : null)
+                            .displayName(user != null ? user.getDisplayName() : null)
+                            .avatarUrl(user != null ? user.getAvatarUrl() : null)
+                            .role(member.getRole())
+                            .joinedAt(member.getJoinedAt())
+                            .build();
+                    })
+                    .collect(Collectors.toList());
+
+                return ConversationResponse.builder()
+                    .id(conversation.getId())
+                    .type(conversation.getType())
+                    .name(conversation.getName())
+                    .avatarUrl(conversation.getAvatarUrl())
+                    .ownerId(conversation.getOwnerId())
+                    .lastMessageAt(conversation.getLastMessageAt())
+                    .createdAt(conversation.getCreatedAt())
+                    .members(memberResponses)
+                    .lastMessage(buildLastMessage(finalLastMessages.get(conversation.getLastMessageId()), finalUsersMap))
+                    .unreadCount(unreadCounts.getOrDefault(conversation.getId(), 0L))
                     .build();
             })
             .collect(Collectors.toList());
+    }
+
+    private MessageResponse buildLastMessage(Message message, Map<String, User> usersMap) {
+        if (message == null) {
+            return null;
+        }
 
-        return ConversationResponse.builder()
-            .id(conversation.getId())
-            .type(conversation.getType())
-            .name(conversation.getName())
-            .avatarUrl(conversation.getAvatarUrl())
-            .ownerId(conversation.getOwnerId())
-            .lastMessageAt(conversation.getLastMessageAt())
-            .createdAt(conversation.getCreatedAt())
-            .members(memberResponses)
+        User sender = usersMap.get(message.getSenderId());
+        return MessageResponse.builder()
+            .id(message.getId())
+            .conversationId(message.getConversationId())
+            .seq(message.getSeq())
+            .senderId(message.getSenderId())
+            .senderUsername(sender != null ? sender.getUsername() : null)
+            .senderDisplayName(sender != null ? sender.getDisplayName() : null)
+            .senderAvatarUrl(sender != null ? sender.getAvatarUrl() : null)
+            .type(message.getType())
+            .content(message.isDeleted() ? null : message.getContent())
+            .mediaUrl(message.isDeleted() ? null : message.getMediaUrl())
+            .isDeleted(message.isDeleted())
+            .createdAt(message.getCreatedAt() != null ? message.getCreatedAt().toString() : null)
+            .updatedAt(message.getUpdatedAt() != null ? message.getUpdatedAt().toString() : null)
             .build();
     }
 
@@ -1,5 +1,6 @@
 package com.cena.chat_app.service;
 
+import com.cena.chat_app.cache.ConversationContextCache;
 import com.cena.chat_app.dto.ApiResponse;
 import com.cena.chat_app.dto.request.*;
 import com.cena.chat_app.dto.response.GroupEventResponse;
@@ -19,13 +20,19 @@ public class GroupManagementService {
     private final ConversationRepository conversationRepository;
     private final ConversationMemberRepository conversationMemberRepository;
     private final RedisGroupEventPublisher redisGroupEventPublisher;
+    private final ConversationContextCache conversationContextCache;
+    private final RedisInboxService redisInboxService;
 
     public GroupManagementService(ConversationRepository conversationRepository,
                                   ConversationMemberRepository conversationMemberRepository,
-                                  RedisGroupEventPublisher redisGroupEventPublisher) {
+                                  RedisGroupEventPublisher redisGroupEventPublisher,
+                                  ConversationContextCache conversationContextCache,
+                                  RedisInboxService redisInboxService) {
         this.conversationRepository = conversationRepository;
         this.conversationMemberRepository = conversationMemberRepository;
         this.redisGroupEventPublisher = redisGroupEventPublisher;
+        this.conversationContextCache = conversationContextCache;
+        this.redisInboxService = redisInboxService;
     }
 
     @Transactional
@@ -54,6 +61,7 @@ public class GroupManagementService {
         }
 
         conversationMemberRepository.delete(member);
+        redisInboxService.remove(member.getUserId(), request.getConversationId());
 
         GroupEventResponse event = GroupEventResponse.builder()
                 .eventType("MEMBER_LEFT")
@@ -62,6 +70,7 @@ public class GroupManagementService {
                 .targetUserId(currentUserId)
                 .build();
 
+        conversationContextCache.invalidate(request.getConversationId());
         redisGroupEventPublisher.publishGroupEvent(request.getConversationId(), event);
 
         return ApiResponse.<GroupEventResponse>builder()
@@ -112,6 +121,7 @@ public class GroupManagementService {
         }
 
         conversationMemberRepository.delete(targetMember);
+        redisInboxService.remove(targetMember.getUserId(), request.getConversationId());
 
         GroupEventResponse event = GroupEventResponse.builder()
                 .eventType("MEMBER_KICKED")
@@ -120,6 +130,7 @@ public class GroupManagementService {
                 .targetUserId(request.getUserId())
                 .build();
 
+        conversationContextCache.invalidate(request.getConversationId());
         redisGroupEventPublisher.publishGroupEvent(request.getConversationId(), event);
 
         return ApiResponse.<GroupEventResponse>builder()
@@ -181,6 +192,7 @@ public class GroupManagementService {
                 .newRole(request.getNewRole())
                 .build();
 
+        conversationContextCache.invalidate(request.getConversationId());
         redisGroupEventPublisher.publishGroupEvent(request.getConversationId(), event);
 
         return ApiResponse.<GroupEventResponse>builder()
@@ -235,6 +247,7 @@ public class GroupManagementService {
                 .newRole("OWNER")
                 .build();
 
+        conversationContextCache.invalidate(request.getConversationId());
         redisGroupEventPublisher.publishGroupEvent(request.getConversationId(), event);
 
         return ApiResponse.<GroupEventResponse>builder()
@@ -284,6 +297,7 @@ public class GroupManagementService {
                 .groupAvatarUrl(conversation.getAvatarUrl())
                 .build();
 
+        conversationContextCache.invalidate(request.getConversationId());
         redisGroupEventPublisher.publishGroupEvent(request.getConversationId(), event);
 
         return ApiResponse.<GroupEventResponse>builder()
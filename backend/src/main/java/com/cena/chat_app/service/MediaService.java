@@ -1,20 +1,19 @@
 package com.cena.chat_app.service;
 
+import com.cena.chat_app.cache.ConversationContext;
+import com.cena.chat_app.cache.ConversationContextCache;
+import com.cena.chat_app.cache.SenderProfile;
 import com.cena.chat_app.dto.ApiResponse;
 import com.cena.chat_app.dto.request.CreateMediaMessageRequest;
 import com.cena.chat_app.dto.request.RequestPresignedUrlRequest;
 import com.cena.chat_app.dto.response.MessageResponse;
 import com.cena.chat_app.dto.response.PresignedUrlResponse;
-import com.cena.chat_app.entity.Conversation;
-import com.cena.chat_app.entity.ConversationMember;
 import com.cena.chat_app.entity.Message;
-import com.cena.chat_app.entity.User;
 import com.cena.chat_app.exception.AppException;
 import com.cena.chat_app.exception.ErrorCode;
 import com.cena.chat_app.repository.ConversationMemberRepository;
 import com.cena.chat_app.repository.ConversationRepository;
 import com.cena.chat_app.repository.MessageRepository;
-import com.cena.chat_app.repository.UserRepository;
 import com.cena.chat_app.websocket.RedisMessagePublisher;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -24,6 +23,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class MediaService {
@@ -49,10 +49,13 @@ public class MediaService {
     private final ConversationRepository conversationRepository;
     private final ConversationMemberRepository conversationMemberRepository;
     private final MessageRepository messageRepository;
-    private final UserRepository userRepository;
     private final RedisMessagePublisher redisMessagePublisher;
-    private final RedisUnreadService redisUnreadService;
+    private final RedisUnreadPublisher redisUnreadPublisher;
     private final BlockingService blockingService;
+    private final ConversationContextCache conversationContextCache;
+    private final RedisSequenceService redisSequenceService;
+    private final RedisInboxService redisInboxService;
+    private final RedisMessageDedupService redisMessageDedupService;
     private final Counter mediaMessagesCreated;
     private final com.cena.chat_app.config.FeatureFlags featureFlags;
 
@@ -60,20 +63,26 @@ public class MediaService {
                         ConversationRepository conversationRepository,
                         ConversationMemberRepository conversationMemberRepository,
                         MessageRepository messageRepository,
-                        UserRepository userRepository,
                         RedisMessagePublisher redisMessagePublisher,
-                        RedisUnreadService redisUnreadService,
+                        RedisUnreadPublisher redisUnreadPublisher,
                         BlockingService blockingService,
+                        ConversationContextCache conversationContextCache,
+                        RedisSequenceService redisSequenceService,
+                        RedisInboxService redisInboxService,
+                        RedisMessageDedupService redisMessageDedupService,
                         MeterRegistry meterRegistry,
                         com.cena.chat_app.config.FeatureFlags featureFlags) {
         this.minioService = minioService;
         this.conversationRepository = conversationRepository;
         this.conversationMemberRepository = conversationMemberRepository;
         this.messageRepository = messageRepository;
-        this.userRepository = userRepository;
         this.redisMessagePublisher = redisMessagePublisher;
-        this.redisUnreadService = redisUnreadService;
+        this.redisUnreadPublisher = redisUnreadPublisher;
         this.blockingService = blockingService;
+        this.conversationContextCache = conversationContextCache;
+        this.redisSequenceService = redisSequenceService;
+        this.redisInboxService = redisInboxService;
+        this.redisMessageDedupService = redisMessageDedupService;
         this.mediaMessagesCreated = meterRegistry.counter("chat.realtime.media.messages.created");
         this.featureFlags = featureFlags;
     }
@@ -130,32 +139,29 @@ public class MediaService {
             throw new AppException(ErrorCode.UNAUTHORIZED);
         }
 
-        Conversation conversation = conversationRepository.findById(request.getConversationId())
+        ConversationContext context = conversationContextCache.getContext(request.getConversationId())
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
 
-        ConversationMember membership = conversationMemberRepository
-                .findByConversationIdAndUserId(request.getConversationId(), currentUserId)
-                .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED));
+        ConversationContext.Member membership = context.getMember(currentUserId);
+        if (membership == null) {
+            throw new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED);
+        }
 
         if (!membership.isCanSendMessage()) {
             throw new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED,
                     "You do not have permission to send messages in this conversation");
         }
 
-        if ("DIRECT".equals(conversation.getType())) {
-            List<ConversationMember> members = conversationMemberRepository.findByConversationId(request.getConversationId());
-            for (ConversationMember member : members) {
-                if (!member.getUserId().equals(currentUserId)) {
-                    if (blockingService.areUsersBlockedEitherWay(currentUserId, member.getUserId())) {
+        List<String> memberIds = context.getMemberIds();
+        if ("DIRECT".equals(context.getType())) {
+            for (String memberId : memberIds) {
+                if (!memberId.equals(currentUserId)) {
+                    if (blockingService.areUsersBlockedEitherWay(currentUserId, memberId)) {
                         throw new AppException(ErrorCode.USER_BLOCKED);
                     }
                 }
             }
-        } else if ("GROUP".equals(conversation.getType())) {
-            List<ConversationMember> members = conversationMemberRepository.findByConversationId(request.getConversationId());
-            List<String> memberIds = members.stream()
-                    .map(ConversationMember::getUserId)
-                    .collect(java.util.stream.Collectors.toList());
+        } else if ("GROUP".equals(context.getType())) {
             if (blockingService.isBlockedByAnyMember(currentUserId, memberIds)) {
                 throw new AppException(ErrorCode.BLOCKED_BY_USER);
             }
@@ -170,36 +176,49 @@ public class MediaService {
             }
         }
 
-        String mediaUrl = minioService.getObjectUrl(request.getFileKey());
-
-        Message message = Message.builder()
-                .conversationId(request.getConversationId())
-                .senderId(currentUserId)
-                .type(request.getType())
-                .content(null)
-                .mediaUrl(mediaUrl)
-                .mediaMetadata(request.getMediaMetadata())
-                .replyTo(request.getReplyTo())
-                .reactions(new HashMap<>())
-                .isDeleted(false)
-                .createdAt(Instant.now())
-                .updatedAt(Instant.now())
-                .build();
+        MessageDedupClaim dedupClaim = redisMessageDedupService.claim(currentUserId, request.getClientMessageId());
+        if (dedupClaim.isDuplicate()) {
+            return ApiResponse.<MessageResponse>builder()
+                    .status("success")
+                    .code("SUCCESS")
+                    .message("Media message created successfully")
+                    .data(getExistingMessageResponse(dedupClaim.existingMessageId(), currentUserId))
+                    .build();
+        }
 
-        message = messageRepository.save(message);
+        Message message;
+        try {
+            String mediaUrl = minioService.getObjectUrl(request.getFileKey());
+
+            message = messageRepository.save(Message.builder()
+                    .conversationId(request.getConversationId())
+                    .seq(redisSequenceService.nextSequence(request.getConversationId()))
+                    .senderId(currentUserId)
+                    .type(request.getType())
+                    .content(null)
+                    .mediaUrl(mediaUrl)
+                    .mediaMetadata(request.getMediaMetadata())
+                    .replyTo(request.getReplyTo())
+                    .reactions(new HashMap<>())
+                    .isDeleted(false)
+                    .createdAt(Instant.now())
+                    .updatedAt(Instant.now())
+                    .build());
+        } catch (RuntimeException e) {
+            redisMessageDedupService.release(dedupClaim);
+            throw e;
+        }
+        redisMessageDedupService.complete(dedupClaim, message.getId());
 
-        conversation.setLastMessageId(message.getId());
-        conversation.setLastMessageAt(message.getCreatedAt());
-        conversationRepository.save(conversation);
+        conversationRepository.updateLastMessage(request.getConversationId(), message.getId(), message.getCreatedAt());
+        redisInboxService.touch(request.getConversationId(), memberIds, message.getCreatedAt());
 
-        List<ConversationMember> members = conversationMemberRepository.findByConversationId(request.getConversationId());
-        for (ConversationMember member : members) {
-            if (!member.getUserId().equals(currentUserId)) {
-                redisUnreadService.incrementUnreadCount(member.getUserId(), request.getConversationId());
-            }
-        }
+        List<String> recipientIds = memberIds.stream()
+                .filter(memberId -> !memberId.equals(currentUserId))
+                .collect(Collectors.toList());
+        redisUnreadPublisher.incrementAndPublish(request.getConversationId(), recipientIds);
 
-        MessageResponse messageResponse = buildMessageResponse(message);
+        MessageResponse messageResponse = buildMessageResponse(message, conversationContextCache.getSenderProfile(currentUserId));
 
         redisMessagePublisher.publishMessage(request.getConversationId(), messageResponse);
 
@@ -220,12 +239,18 @@ public class MediaService {
                 ALLOWED_FILE_TYPES.contains(mimeType);
     }
 
-    private MessageResponse buildMessageResponse(Message message) {
-        User sender = userRepository.findById(message.getSenderId()).orElse(null);
+    private MessageResponse getExistingMessageResponse(String messageId, String senderId) {
+        Message message = messageRepository.findById(messageId)
+                .filter(existing -> existing.getSenderId().equals(senderId))
+                .orElseThrow(() -> new AppException(ErrorCode.MESSAGE_NOT_FOUND));
+        return buildMessageResponse(message, conversationContextCache.getSenderProfile(senderId));
+    }
 
+    private MessageResponse buildMessageResponse(Message message, SenderProfile sender) {
         return MessageResponse.builder()
                 .id(message.getId())
                 .conversationId(message.getConversationId())
+                .seq(message.getSeq())
                 .senderId(message.getSenderId())
                 .senderUsername(sender != null ? sender.getUsername() : null)
                 .senderDisplayName(sender != null ? sender.getDisplayName() : null)
@@ -235,7 +260,7 @@ public class MediaService {
                 .mediaUrl(message.getMediaUrl())
                 .mediaMetadata(message.getMediaMetadata())
                 .replyTo(message.getReplyTo())
-                .reactions(message.getReactions())
+                .reactionCounts(message.getReactionCounts())
                 .isDeleted(message.isDeleted())
                 .createdAt(message.getCreatedAt() != null ? message.getCreatedAt().toString() : null)
                 .updatedAt(message.getUpdatedAt() != null ? message.getUpdatedAt().toString() : null)
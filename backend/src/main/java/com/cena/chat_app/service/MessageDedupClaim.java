@@ -0,0 +1,9 @@
+package com.cena.chat_app.service;
+
+public record MessageDedupClaim(String key, String token, String existingMessageId) {
+    static final MessageDedupClaim NONE = new MessageDedupClaim(null, null, null);
+
+    public boolean isDuplicate() {
+        return existingMessageId != null;
+    }
+}
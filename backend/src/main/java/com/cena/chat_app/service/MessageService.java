@@ -1,23 +1,30 @@
 package com.cena.chat_app.service;
 
+import com.cena.chat_app.cache.ConversationContext;
+import com.cena.chat_app.cache.ConversationContextCache;
+import com.cena.chat_app.cache.SenderProfile;
 import com.cena.chat_app.dto.ApiResponse;
 import com.cena.chat_app.dto.request.DeleteMessageRequest;
 import com.cena.chat_app.dto.request.EditMessageRequest;
 import com.cena.chat_app.dto.request.ReactionRequest;
 import com.cena.chat_app.dto.request.SendMessageRequest;
+import com.cena.chat_app.dto.response.MessagePageResponse;
 import com.cena.chat_app.dto.response.MessageResponse;
 import com.cena.chat_app.dto.response.MessageUpdateEventResponse;
 import com.cena.chat_app.dto.response.ReactionEventResponse;
-import com.cena.chat_app.dto.response.UnreadUpdateResponse;
+import com.cena.chat_app.dto.response.ReactionPageResponse;
+import com.cena.chat_app.dto.response.ReactionUserResponse;
 import com.cena.chat_app.entity.Conversation;
-import com.cena.chat_app.entity.ConversationMember;
 import com.cena.chat_app.entity.Message;
 import com.cena.chat_app.entity.User;
 import com.cena.chat_app.exception.AppException;
 import com.cena.chat_app.exception.ErrorCode;
 import com.cena.chat_app.repository.ConversationMemberRepository;
 import com.cena.chat_app.repository.ConversationRepository;
+import com.cena.chat_app.repository.MessageCursor;
 import com.cena.chat_app.repository.MessageRepository;
+import com.cena.chat_app.repository.MessageUpdateTarget;
+import com.cena.chat_app.repository.ReactionEntry;
 import com.cena.chat_app.repository.UserRepository;
 import com.cena.chat_app.websocket.RedisMessagePublisher;
 import io.micrometer.core.instrument.Counter;
@@ -28,6 +35,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,16 +43,25 @@ import java.util.stream.Collectors;
 
 @Service
 public class MessageService {
+    private static final long MAX_SEQ_RANGE = 500;
+    private static final int MAX_MESSAGE_PAGE_SIZE = 100;
+    private static final int MAX_REACTION_ATTEMPTS = 5;
+    private static final int MAX_REACTION_TYPE_LENGTH = 32;
+    private static final int MAX_REACTION_PAGE_SIZE = 100;
+
     private final MessageRepository messageRepository;
     private final ConversationRepository conversationRepository;
     private final ConversationMemberRepository conversationMemberRepository;
     private final UserRepository userRepository;
     private final RedisMessagePublisher redisMessagePublisher;
-    private final RedisUnreadService redisUnreadService;
     private final RedisUnreadPublisher redisUnreadPublisher;
     private final RedisReactionPublisher redisReactionPublisher;
     private final RedisMessageUpdatePublisher redisMessageUpdatePublisher;
     private final BlockingService blockingService;
+    private final ConversationContextCache conversationContextCache;
+    private final RedisSequenceService redisSequenceService;
+    private final RedisInboxService redisInboxService;
+    private final RedisMessageDedupService redisMessageDedupService;
     private final Counter messagesSent;
     private final Counter reactionsAdded;
     private final Counter messagesEdited;
@@ -55,22 +72,28 @@ public class MessageService {
             ConversationMemberRepository conversationMemberRepository,
             UserRepository userRepository,
             RedisMessagePublisher redisMessagePublisher,
-            RedisUnreadService redisUnreadService,
             RedisUnreadPublisher redisUnreadPublisher,
             RedisReactionPublisher redisReactionPublisher,
             RedisMessageUpdatePublisher redisMessageUpdatePublisher,
             BlockingService blockingService,
+            ConversationContextCache conversationContextCache,
+            RedisSequenceService redisSequenceService,
+            RedisInboxService redisInboxService,
+            RedisMessageDedupService redisMessageDedupService,
             MeterRegistry meterRegistry) {
         this.messageRepository = messageRepository;
         this.conversationRepository = conversationRepository;
         this.conversationMemberRepository = conversationMemberRepository;
         this.userRepository = userRepository;
         this.redisMessagePublisher = redisMessagePublisher;
-        this.redisUnreadService = redisUnreadService;
         this.redisUnreadPublisher = redisUnreadPublisher;
         this.redisReactionPublisher = redisReactionPublisher;
         this.redisMessageUpdatePublisher = redisMessageUpdatePublisher;
         this.blockingService = blockingService;
+        this.conversationContextCache = conversationContextCache;
+        this.redisSequenceService = redisSequenceService;
+        this.redisInboxService = redisInboxService;
+        this.redisMessageDedupService = redisMessageDedupService;
         this.messagesSent = meterRegistry.counter("chat.realtime.messages.sent");
         this.reactionsAdded = meterRegistry.counter("chat.realtime.reactions.added");
         this.messagesEdited = meterRegistry.counter("chat.realtime.messages.edited");
@@ -78,37 +101,37 @@ public class MessageService {
     }
 
     public ApiResponse<MessageResponse> sendMessage(SendMessageRequest request) {
-        String currentUserId = getCurrentUserId();
+        return sendMessage(getCurrentUserId(), request);
+    }
+
+    public ApiResponse<MessageResponse> sendMessage(String currentUserId, SendMessageRequest request) {
         if (currentUserId == null) {
             throw new AppException(ErrorCode.UNAUTHORIZED);
         }
 
-        Conversation conversation = conversationRepository.findById(request.getConversationId())
+        ConversationContext context = conversationContextCache.getContext(request.getConversationId())
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
 
-        ConversationMember membership = conversationMemberRepository
-                .findByConversationIdAndUserId(request.getConversationId(), currentUserId)
-                .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED));
+        ConversationContext.Member membership = context.getMember(currentUserId);
+        if (membership == null) {
+            throw new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED);
+        }
 
         if (!membership.isCanSendMessage()) {
             throw new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED,
                     "You do not have permission to send messages in this conversation");
         }
 
-        if ("DIRECT".equals(conversation.getType())) {
-            List<ConversationMember> members = conversationMemberRepository.findByConversationId(request.getConversationId());
-            for (ConversationMember member : members) {
-                if (!member.getUserId().equals(currentUserId)) {
-                    if (blockingService.areUsersBlockedEitherWay(currentUserId, member.getUserId())) {
+        List<String> memberIds = context.getMemberIds();
+        if ("DIRECT".equals(context.getType())) {
+            for (String memberId : memberIds) {
+                if (!memberId.equals(currentUserId)) {
+                    if (blockingService.areUsersBlockedEitherWay(currentUserId, memberId)) {
                         throw new AppException(ErrorCode.USER_BLOCKED);
                     }
                 }
             }
-        } else if ("GROUP".equals(conversation.getType())) {
-            List<ConversationMember> members = conversationMemberRepository.findByConversationId(request.getConversationId());
-            List<String> memberIds = members.stream()
-                    .map(ConversationMember::getUserId)
-                    .collect(java.util.stream.Collectors.toList());
+        } else if ("GROUP".equals(context.getType())) {
             if (blockingService.isBlockedByAnyMember(currentUserId, memberIds)) {
                 throw new AppException(ErrorCode.BLOCKED_BY_USER);
             }
@@ -123,40 +146,48 @@ public class MessageService {
             }
         }
 
-        Message message = Message.builder()
-                .conversationId(request.getConversationId())
-                .senderId(currentUserId)
-                .type("TEXT")
-                .content(request.getContent())
-                .replyTo(request.getReplyTo())
-                .isDeleted(false)
-                .createdAt(Instant.now())
-                .updatedAt(Instant.now())
-                .build();
+        MessageDedupClaim dedupClaim = redisMessageDedupService.claim(currentUserId, request.getClientMessageId());
+        if (dedupClaim.isDuplicate()) {
+            return ApiResponse.<MessageResponse>builder()
+                    .status("success")
+                    .code("SUCCESS")
+                    .message("Message sent successfully")
+                    .data(getExistingMessageResponse(dedupClaim.existingMessageId(), currentUserId))
+                    .build();
+        }
 
-        message = messageRepository.save(message);
+        Message message;
+        try {
+            message = messageRepository.save(Message.builder()
+                    .conversationId(request.getConversationId())
+                    .seq(redisSequenceService.nextSequence(request.getConversationId()))
+                    .senderId(currentUserId)
+                    .type("TEXT")
+                    .content(request.getContent())
+                    .replyTo(request.getReplyTo())
+                    .isDeleted(false)
+                    .createdAt(Instant.now())
+                    .updatedAt(Instant.now())
+                    .build());
+        } catch (RuntimeException e) {
+            redisMessageDedupService.release(dedupClaim);
+            throw e;
+        }
+        redisMessageDedupService.complete(dedupClaim, message.getId());
         messagesSent.increment();
 
-        conversation.setLastMessageId(message.getId());
-        conversation.setLastMessageAt(message.getCreatedAt());
-        conversationRepository.save(conversation);
+        conversationRepository.updateLastMessage(request.getConversationId(), message.getId(), message.getCreatedAt());
+        redisInboxService.touch(request.getConversationId(), memberIds, message.getCreatedAt());
 
-        MessageResponse response = buildMessageResponse(message);
+        MessageResponse response = buildMessageResponse(message,
+                conversationContextCache.getSenderProfile(currentUserId), currentUserId);
 
         redisMessagePublisher.publishMessage(request.getConversationId(), response);
 
-        List<ConversationMember> members = conversationMemberRepository.findByConversationId(request.getConversationId());
-        for (ConversationMember member : members) {
-            if (!member.getUserId().equals(currentUserId)) {
-                redisUnreadService.incrementUnreadCount(member.getUserId(), request.getConversationId());
-                long unreadCount = redisUnreadService.getUnreadCount(member.getUserId(), request.getConversationId());
-                UnreadUpdateResponse unreadUpdate = UnreadUpdateResponse.builder()
-                        .conversationId(request.getConversationId())
-                        .unreadCount(unreadCount)
-                        .build();
-                redisUnreadPublisher.publishUnreadUpdate(member.getUserId(), unreadUpdate);
-            }
-        }
+        List<String> recipientIds = memberIds.stream()
+                .filter(memberId -> !memberId.equals(currentUserId))
+                .collect(Collectors.toList());
+        redisUnreadPublisher.incrementAndPublish(request.getConversationId(), recipientIds);
 
         return ApiResponse.<MessageResponse>builder()
                 .status("success")
@@ -179,7 +210,110 @@ public class MessageService {
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED));
 
         List<Message> messages = messageRepository.findByConversationIdOrderByCreatedAtDesc(conversationId, pageable);
+        List<MessageResponse> responses = buildMessageResponses(messages, currentUserId);
+
+        return ApiResponse.<List<MessageResponse>>builder()
+                .status("success")
+                .code("SUCCESS")
+                .message("Messages retrieved successfully")
+                .data(responses)
+                .build();
+    }
+
+    public ApiResponse<MessagePageResponse> getMessagePage(String conversationId, String cursor, boolean older, int size) {
+        String currentUserId = getCurrentUserId();
+        if (currentUserId == null) {
+            throw new AppException(ErrorCode.UNAUTHORIZED);
+        }
+
+        conversationRepository.findById(conversationId)
+                .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
+
+        conversationMemberRepository.findByConversationIdAndUserId(conversationId, currentUserId)
+                .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED));
+
+        if (size < 1) {
+            throw new AppException(ErrorCode.INVALID_PAGE_SIZE);
+        }
+        int pageSize = Math.min(size, MAX_MESSAGE_PAGE_SIZE);
+
+        MessageCursor messageCursor = decodeCursor(cursor);
+        if (!older && messageCursor == null) {
+            throw new AppException(ErrorCode.INVALID_CURSOR, "An 'after' cursor is required");
+        }
+
+        List<Message> messages = older
+                ? messageRepository.findPageBefore(conversationId, messageCursor, pageSize + 1)
+                : messageRepository.findPageAfter(conversationId, messageCursor, pageSize + 1);
+
+        boolean hasMore = messages.size() > pageSize;
+        if (hasMore) {
+            messages = messages.subList(0, pageSize);
+        }
+
+        String nextCursor = cursor;
+        if (!messages.isEmpty()) {
+            Message edge = messages.get(messages.size() - 1);
+            nextCursor = new MessageCursor(edge.getCreatedAt(), edge.getId()).encode();
+        }
+
+        List<MessageResponse> responses = buildMessageResponses(messages, currentUserId);
+        if (!older) {
+            Collections.reverse(responses);
+        }
+
+        MessagePageResponse page = MessagePageResponse.builder()
+                .messages(responses)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+
+        return ApiResponse.<MessagePageResponse>builder()
+                .status("success")
+                .code("SUCCESS")
+                .message("Messages retrieved successfully")
+                .data(page)
+                .build();
+    }
+
+    public ApiResponse<List<MessageResponse>> getMessagesBySeqRange(String conversationId, long fromSeq, long toSeq) {
+        String currentUserId = getCurrentUserId();
+        if (currentUserId == null) {
+            throw new AppException(ErrorCode.UNAUTHORIZED);
+        }
+
+        if (fromSeq < 1 || toSeq < fromSeq || toSeq - fromSeq >= MAX_SEQ_RANGE) {
+            throw new AppException(ErrorCode.INVALID_SEQUENCE_RANGE);
+        }
+
+        conversationRepository.findById(conversationId)
+                .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
+
+        conversationMemberRepository.findByConversationIdAndUserId(conversationId, currentUserId)
+                .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED));
+
+        List<Message> messages = messageRepository.findBySeqRange(conversationId, fromSeq, toSeq);
+
+        return ApiResponse.<List<MessageResponse>>builder()
+                .status("success")
+                .code("SUCCESS")
+                .message("Messages retrieved successfully")
+                .data(buildMessageResponses(messages, currentUserId))
+                .build();
+    }
+
+    private MessageCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return MessageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+    }
 
+    private List<MessageResponse> buildMessageResponses(List<Message> messages, String viewerId) {
         List<String> senderIds = messages.stream()
                 .map(Message::getSenderId)
                 .distinct()
@@ -192,27 +326,17 @@ public class MessageService {
         }
 
         Map<String, User> finalUsersMap = usersMap;
-        List<MessageResponse> responses = messages.stream()
-                .map(message -> buildMessageResponse(message, finalUsersMap.get(message.getSenderId())))
+        return messages.stream()
+                .map(message -> buildMessageResponse(message, SenderProfile.from(finalUsersMap.get(message.getSenderId())),
+                        viewerId))
                 .collect(Collectors.toList());
-
-        return ApiResponse.<List<MessageResponse>>builder()
-                .status("success")
-                .code("SUCCESS")
-                .message("Messages retrieved successfully")
-                .data(responses)
-                .build();
     }
 
-    private MessageResponse buildMessageResponse(Message message) {
-        User sender = userRepository.findById(message.getSenderId()).orElse(null);
-        return buildMessageResponse(message, sender);
-    }
-
-    private MessageResponse buildMessageResponse(Message message, User sender) {
+    private MessageResponse buildMessageResponse(Message message, SenderProfile sender, String viewerId) {
         return MessageResponse.builder()
                 .id(message.getId())
                 .conversationId(message.getConversationId())
+                .seq(message.getSeq())
                 .senderId(message.getSenderId())
                 .senderUsername(sender != null ? sender.getUsername() : null)
                 .senderDisplayName(sender != null ? sender.getDisplayName() : null)
@@ -222,53 +346,85 @@ public class MessageService {
                 .mediaUrl(message.getMediaUrl())
                 .mediaMetadata(message.getMediaMetadata())
                 .replyTo(message.getReplyTo())
-                .reactions(message.getReactions())
+                .reactionCounts(visibleReactionCounts(message.getReactionCounts()))
+                .myReaction(viewerId != null && message.getReactions() != null
+                        ? message.getReactions().get(viewerId) : null)
                 .isDeleted(message.isDeleted())
                 .createdAt(message.getCreatedAt() != null ? message.getCreatedAt().toString() : null)
                 .updatedAt(message.getUpdatedAt() != null ? message.getUpdatedAt().toString() : null)
                 .build();
     }
 
+    private Map<String, Long> visibleReactionCounts(Map<String, Long> reactionCounts) {
+        if (reactionCounts == null || reactionCounts.isEmpty()) {
+            return null;
+        }
+        Map<String, Long> visible = reactionCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() != null && entry.getValue() > 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return visible.isEmpty() ? null : visible;
+    }
+
     public ApiResponse<ReactionEventResponse> toggleReaction(ReactionRequest request) {
-        String currentUserId = getCurrentUserId();
+        return toggleReaction(getCurrentUserId(), request);
+    }
+
+    public ApiResponse<ReactionEventResponse> toggleReaction(String currentUserId, ReactionRequest request) {
         if (currentUserId == null) {
             throw new AppException(ErrorCode.UNAUTHORIZED);
         }
 
-        Message message = messageRepository.findById(request.getMessageId())
-                .orElseThrow(() -> new AppException(ErrorCode.MESSAGE_NOT_FOUND));
+        String reactionType = request.getReactionType();
+        if (!isValidReactionType(reactionType)) {
+            throw new AppException(ErrorCode.INVALID_REACTION);
+        }
 
-        conversationMemberRepository.findByConversationIdAndUserId(message.getConversationId(), currentUserId)
+        Message current = messageRepository.findReactionState(request.getMessageId(), currentUserId);
+        if (current == null) {
+            throw new AppException(ErrorCode.MESSAGE_NOT_FOUND);
+        }
+
+        conversationMemberRepository.findByConversationIdAndUserId(current.getConversationId(), currentUserId)
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED));
 
-        Map<String, String> reactions = message.getReactions();
-        if (reactions == null) {
-            reactions = new HashMap<>();
+        Message message = null;
+        String previousReactionType = null;
+        for (int attempt = 0; attempt < MAX_REACTION_ATTEMPTS && message == null; attempt++) {
+            if (attempt > 0) {
+                current = messageRepository.findReactionState(request.getMessageId(), currentUserId);
+                if (current == null) {
+                    throw new AppException(ErrorCode.MESSAGE_NOT_FOUND);
+                }
+            }
+            previousReactionType = current.getReactions() != null ? current.getReactions().get(currentUserId) : null;
+            String replacement = reactionType.equals(previousReactionType) ? null : reactionType;
+            message = messageRepository.compareAndSetReaction(request.getMessageId(), currentUserId,
+                    previousReactionType, replacement, Instant.now());
+        }
+        if (message == null) {
+            throw new AppException(ErrorCode.REACTION_CONFLICT);
         }
 
-        boolean added;
-        String existingReaction = reactions.get(currentUserId);
-
-        if (existingReaction != null && existingReaction.equals(request.getReactionType())) {
-            reactions.remove(currentUserId);
-            added = false;
-        } else {
-            reactions.put(currentUserId, request.getReactionType());
-            added = true;
+        boolean added = !reactionType.equals(previousReactionType);
+        if (added) {
             reactionsAdded.increment();
         }
 
-        message.setReactions(reactions.isEmpty() ? null : reactions);
-        message.setUpdatedAt(Instant.now());
-        message = messageRepository.save(message);
+        Map<String, Long> counts = message.getReactionCounts() != null ? message.getReactionCounts() : Map.of();
+        Map<String, Long> changedCounts = new HashMap<>();
+        changedCounts.put(reactionType, Math.max(0L, counts.getOrDefault(reactionType, 0L)));
+        if (previousReactionType != null) {
+            changedCounts.put(previousReactionType, Math.max(0L, counts.getOrDefault(previousReactionType, 0L)));
+        }
 
         ReactionEventResponse reactionEvent = ReactionEventResponse.builder()
                 .messageId(message.getId())
                 .conversationId(message.getConversationId())
                 .userId(currentUserId)
-                .reactionType(request.getReactionType())
+                .reactionType(reactionType)
+                .previousReactionType(previousReactionType)
                 .added(added)
-                .allReactions(message.getReactions())
+                .reactionCounts(changedCounts)
                 .build();
 
         redisReactionPublisher.publishReactionEvent(message.getConversationId(), reactionEvent);
@@ -281,33 +437,91 @@ public class MessageService {
                 .build();
     }
 
-    public ApiResponse<MessageUpdateEventResponse> editMessage(EditMessageRequest request) {
+    public ApiResponse<ReactionPageResponse> getReactionUsers(String messageId, String reactionType, String cursor,
+                                                              int size) {
         String currentUserId = getCurrentUserId();
         if (currentUserId == null) {
             throw new AppException(ErrorCode.UNAUTHORIZED);
         }
 
-        Message message = messageRepository.findById(request.getMessageId())
-                .orElseThrow(() -> new AppException(ErrorCode.MESSAGE_NOT_FOUND));
+        if (reactionType != null && !isValidReactionType(reactionType)) {
+            throw new AppException(ErrorCode.INVALID_REACTION);
+        }
+
+        Message message = messageRepository.findReactionState(messageId, currentUserId);
+        if (message == null) {
+            throw new AppException(ErrorCode.MESSAGE_NOT_FOUND);
+        }
 
         conversationMemberRepository.findByConversationIdAndUserId(message.getConversationId(), currentUserId)
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED));
 
-        if (!message.getSenderId().equals(currentUserId)) {
-            throw new AppException(ErrorCode.MESSAGE_EDIT_DENIED);
-        }
+        int pageSize = Math.max(1, Math.min(size, MAX_REACTION_PAGE_SIZE));
+        String afterUserId = cursor == null || cursor.isBlank() ? null : cursor;
+        List<ReactionEntry> entries = messageRepository.findReactionPage(messageId, reactionType, afterUserId, pageSize + 1);
 
-        if (message.isDeleted()) {
-            throw new AppException(ErrorCode.MESSAGE_ALREADY_DELETED);
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
         }
 
-        if (!"TEXT".equals(message.getType())) {
-            throw new AppException(ErrorCode.MESSAGE_NOT_EDITABLE);
+        Map<String, User> usersMap = userRepository.findAllById(entries.stream()
+                        .map(ReactionEntry::userId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, u -> u));
+
+        List<ReactionUserResponse> reactions = entries.stream()
+                .map(entry -> {
+                    User user = usersMap.get(entry.userId());
+                    return ReactionUserResponse.builder()
+                            .userId(entry.userId())
+                            .username(user != null ? user.getUsername() : null)
+                            .displayName(user != null ? user.getDisplayName() : null)
+                            .avatarUrl(user != null ? user.getAvatarUrl() : null)
+                            .reactionType(entry.reactionType())
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        ReactionPageResponse page = ReactionPageResponse.builder()
+                .reactions(reactions)
+                .nextCursor(entries.isEmpty() ? afterUserId : entries.get(entries.size() - 1).userId())
+                .hasMore(hasMore)
+                .build();
+
+        return ApiResponse.<ReactionPageResponse>builder()
+                .status("success")
+                .code("SUCCESS")
+                .message("Reactions retrieved successfully")
+                .data(page)
+                .build();
+    }
+
+    private boolean isValidReactionType(String reactionType) {
+        return reactionType != null
+                && !reactionType.isBlank()
+                && reactionType.length() <= MAX_REACTION_TYPE_LENGTH
+                && !reactionType.startsWith("$")
+                && !reactionType.contains(".");
+    }
+
+    public ApiResponse<MessageUpdateEventResponse> editMessage(EditMessageRequest request) {
+        return editMessage(getCurrentUserId(), request);
+    }
+
+    public ApiResponse<MessageUpdateEventResponse> editMessage(String currentUserId, EditMessageRequest request) {
+        if (currentUserId == null) {
+            throw new AppException(ErrorCode.UNAUTHORIZED);
         }
 
-        message.setContent(request.getContent());
-        message.setUpdatedAt(Instant.now());
-        message = messageRepository.save(message);
+        requireUpdatableMessage(request.getMessageId(), currentUserId, ErrorCode.MESSAGE_EDIT_DENIED, true);
+
+        Message message = messageRepository.editTextIfOwned(request.getMessageId(), currentUserId,
+                request.getContent(), Instant.now());
+        if (message == null) {
+            throw new AppException(ErrorCode.MESSAGE_ALREADY_DELETED);
+        }
 
         messagesEdited.increment();
 
@@ -332,30 +546,21 @@ public class MessageService {
     }
 
     public ApiResponse<MessageUpdateEventResponse> deleteMessage(DeleteMessageRequest request) {
-        String currentUserId = getCurrentUserId();
+        return deleteMessage(getCurrentUserId(), request);
+    }
+
+    public ApiResponse<MessageUpdateEventResponse> deleteMessage(String currentUserId, DeleteMessageRequest request) {
         if (currentUserId == null) {
             throw new AppException(ErrorCode.UNAUTHORIZED);
         }
 
-        Message message = messageRepository.findById(request.getMessageId())
-                .orElseThrow(() -> new AppException(ErrorCode.MESSAGE_NOT_FOUND));
-
-        conversationMemberRepository.findByConversationIdAndUserId(message.getConversationId(), currentUserId)
-                .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED));
-
-        if (!message.getSenderId().equals(currentUserId)) {
-            throw new AppException(ErrorCode.MESSAGE_DELETE_DENIED);
-        }
+        requireUpdatableMessage(request.getMessageId(), currentUserId, ErrorCode.MESSAGE_DELETE_DENIED, false);
 
-        if (message.isDeleted()) {
+        Message message = messageRepository.deleteIfOwned(request.getMessageId(), currentUserId, Instant.now());
+        if (message == null) {
             throw new AppException(ErrorCode.MESSAGE_ALREADY_DELETED);
         }
 
-        message.setDeleted(true);
-        message.setContent(null);
-        message.setUpdatedAt(Instant.now());
-        message = messageRepository.save(message);
-
         messagesDeleted.increment();
 
         MessageUpdateEventResponse updateEvent = MessageUpdateEventResponse.builder()
@@ -378,6 +583,32 @@ public class MessageService {
                 .build();
     }
 
+    private void requireUpdatableMessage(String messageId, String currentUserId, ErrorCode notOwner,
+                                         boolean requireText) {
+        MessageUpdateTarget target = messageRepository.findUpdateTarget(messageId, currentUserId)
+                .orElseThrow(() -> new AppException(ErrorCode.MESSAGE_NOT_FOUND));
+
+        if (!target.member()) {
+            throw new AppException(ErrorCode.CONVERSATION_ACCESS_DENIED);
+        }
+        if (!currentUserId.equals(target.senderId())) {
+            throw new AppException(notOwner);
+        }
+        if (target.deleted()) {
+            throw new AppException(ErrorCode.MESSAGE_ALREADY_DELETED);
+        }
+        if (requireText && !"TEXT".equals(target.type())) {
+            throw new AppException(ErrorCode.MESSAGE_NOT_EDITABLE);
+        }
+    }
+
+    private MessageResponse getExistingMessageResponse(String messageId, String senderId) {
+        Message message = messageRepository.findById(messageId)
+                .filter(existing -> existing.getSenderId().equals(senderId))
+                .orElseThrow(() -> new AppException(ErrorCode.MESSAGE_NOT_FOUND));
+        return buildMessageResponse(message, conversationContextCache.getSenderProfile(senderId), senderId);
+    }
+
     private String getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getPrincipal() == null) {
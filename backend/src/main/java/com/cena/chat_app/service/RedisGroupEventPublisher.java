@@ -1,28 +1,30 @@
 package com.cena.chat_app.service;
 
+import com.cena.chat_app.cache.ConversationContextCache;
 import com.cena.chat_app.dto.response.GroupEventResponse;
+import com.cena.chat_app.websocket.RealtimeEventType;
+import com.cena.chat_app.websocket.RealtimeTransport;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 public class RedisGroupEventPublisher {
-    private static final String CHANNEL_PREFIX = "conversation:";
-    private static final String CHANNEL_SUFFIX = ":group-events";
-
-    private final StringRedisTemplate redisTemplate;
+    private final RealtimeTransport realtimeTransport;
+    private final ConversationContextCache conversationContextCache;
     private final ObjectMapper objectMapper;
     private final Counter groupEventsPublished;
     private final Counter publishFailures;
     private final Counter publishTimeouts;
 
-    public RedisGroupEventPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
-        this.redisTemplate = redisTemplate;
+    public RedisGroupEventPublisher(RealtimeTransport realtimeTransport, ConversationContextCache conversationContextCache,
+                                    ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.realtimeTransport = realtimeTransport;
+        this.conversationContextCache = conversationContextCache;
         this.objectMapper = objectMapper;
         this.groupEventsPublished = meterRegistry.counter("chat.realtime.group.events.published");
         this.publishFailures = meterRegistry.counter("chat.realtime.redis.publish.failures", "type", "group-event");
@@ -30,19 +32,21 @@ public class RedisGroupEventPublisher {
     }
 
     public void publishGroupEvent(String conversationId, GroupEventResponse event) {
-        String channel = CHANNEL_PREFIX + conversationId + CHANNEL_SUFFIX;
         try {
+            conversationContextCache.invalidate(conversationId);
+            realtimeTransport.publish(RealtimeEventType.CONVERSATION_INVALIDATE, conversationId, "");
+
             String payload = objectMapper.writeValueAsString(event);
-            redisTemplate.convertAndSend(channel, payload);
+            realtimeTransport.publishToConversation(RealtimeEventType.GROUP_EVENT, conversationId, payload);
             groupEventsPublished.increment();
         } catch (Exception e) {
             if (isTimeoutException(e)) {
                 publishTimeouts.increment();
-                log.error("Redis timeout publishing group event - conversationId={}, channel={}", conversationId, channel);
+                log.error("Redis timeout publishing group event - conversationId={}", conversationId);
             } else {
                 publishFailures.increment();
-                log.error("Failed to publish group event to Redis - conversationId={}, channel={}, error={}",
-                        conversationId, channel, e.getMessage());
+                log.error("Failed to publish group event to Redis - conversationId={}, error={}",
+                        conversationId, e.getMessage());
             }
         }
     }
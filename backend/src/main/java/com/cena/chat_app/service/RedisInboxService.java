@@ -0,0 +1,155 @@
+package com.cena.chat_app.service;
+
+import com.cena.chat_app.entity.Conversation;
+import com.cena.chat_app.entity.ConversationMember;
+import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.repository.ConversationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class RedisInboxService {
+    private static final String INBOX_PREFIX = "inbox:user:";
+    private static final Duration INBOX_TTL = Duration.ofDays(7);
+
+    private static final byte[] TOUCH_SCRIPT = (
+            "if redis.call('EXISTS', KEYS[1]) == 1 then\n" +
+            "  redis.call('ZADD', KEYS[1], 'GT', ARGV[1], ARGV[2])\n" +
+            "  return 1\n" +
+            "end\n" +
+            "return 0").getBytes(StandardCharsets.UTF_8);
+
+    private static final RedisScript<Long> REBUILD_SCRIPT = new DefaultRedisScript<>(
+            "for i = 2, #ARGV, 2 do\n" +
+            "  redis.call('ZADD', KEYS[1], 'GT', ARGV[i], ARGV[i + 1])\n" +
+            "end\n" +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[1])\n" +
+            "return redis.call('ZCARD', KEYS[1])",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ConversationMemberRepository conversationMemberRepository;
+    private final ConversationRepository conversationRepository;
+    private final Counter inboxRebuilds;
+
+    public RedisInboxService(StringRedisTemplate redisTemplate,
+                             ConversationMemberRepository conversationMemberRepository,
+                             ConversationRepository conversationRepository,
+                             MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.conversationMemberRepository = conversationMemberRepository;
+        this.conversationRepository = conversationRepository;
+        this.inboxRebuilds = meterRegistry.counter("chat.inbox.rebuilds");
+    }
+
+    public void touch(String conversationId, Collection<String> memberIds, Instant activityAt) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        byte[] score = String.valueOf(activityAt.toEpochMilli()).getBytes(StandardCharsets.UTF_8);
+        byte[] member = conversationId.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String memberId : memberIds) {
+                    connection.scriptingCommands().eval(TOUCH_SCRIPT, ReturnType.INTEGER, 1,
+                            buildKey(memberId).getBytes(StandardCharsets.UTF_8), score, member);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Failed to update inbox index - conversationId={}, members={}, error={}",
+                    conversationId, memberIds.size(), e.getMessage());
+        }
+    }
+
+    public void remove(String userId, String conversationId) {
+        try {
+            redisTemplate.opsForZSet().remove(buildKey(userId), conversationId);
+        } catch (Exception e) {
+            log.error("Failed to remove conversation from inbox index - userId={}, conversationId={}, error={}",
+                    userId, conversationId, e.getMessage());
+        }
+    }
+
+    public void invalidate(String userId) {
+        redisTemplate.delete(buildKey(userId));
+    }
+
+    public List<String> getPage(String userId, int page, int size) {
+        String key = buildKey(userId);
+        long start = size > 0 ? (long) page * size : 0;
+        long end = size > 0 ? start + size - 1 : -1;
+
+        Set<String> conversationIds = redisTemplate.opsForZSet().reverseRange(key, start, end);
+        if (conversationIds != null && !conversationIds.isEmpty()) {
+            return new ArrayList<>(conversationIds);
+        }
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+            return new ArrayList<>();
+        }
+
+        List<String> rebuilt = rebuild(userId);
+        if (start >= rebuilt.size()) {
+            return new ArrayList<>();
+        }
+        int to = end < 0 ? rebuilt.size() : (int) Math.min(rebuilt.size(), end + 1);
+        return new ArrayList<>(rebuilt.subList((int) start, to));
+    }
+
+    private List<String> rebuild(String userId) {
+        List<String> conversationIds = conversationMemberRepository.findByUserId(userId).stream()
+                .map(ConversationMember::getConversationId)
+                .collect(Collectors.toList());
+        if (conversationIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Conversation> conversations = new ArrayList<>(conversationRepository.findAllById(conversationIds));
+        conversations.sort(Comparator.comparingLong(this::activityScore).reversed());
+
+        List<String> args = new ArrayList<>(conversations.size() * 2 + 1);
+        args.add(String.valueOf(INBOX_TTL.toMillis()));
+        for (Conversation conversation : conversations) {
+            args.add(String.valueOf(activityScore(conversation)));
+            args.add(conversation.getId());
+        }
+
+        try {
+            redisTemplate.execute(REBUILD_SCRIPT, List.of(buildKey(userId)), args.toArray());
+            inboxRebuilds.increment();
+        } catch (Exception e) {
+            log.error("Failed to rebuild inbox index - userId={}, error={}", userId, e.getMessage());
+        }
+
+        return conversations.stream().map(Conversation::getId).collect(Collectors.toList());
+    }
+
+    private long activityScore(Conversation conversation) {
+        Instant activity = conversation.getLastMessageAt() != null
+                ? conversation.getLastMessageAt()
+                : conversation.getCreatedAt();
+        return activity != null ? activity.toEpochMilli() : 0L;
+    }
+
+    private String buildKey(String userId) {
+        return INBOX_PREFIX + userId;
+    }
+}
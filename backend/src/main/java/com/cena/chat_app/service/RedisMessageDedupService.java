@@ -0,0 +1,106 @@
+package com.cena.chat_app.service;
+
+import com.cena.chat_app.exception.AppException;
+import com.cena.chat_app.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class RedisMessageDedupService {
+    private static final String DEDUP_PREFIX = "dedup:message:";
+    private static final String PENDING = "PENDING";
+    private static final int MAX_CLIENT_MESSAGE_ID_LENGTH = 128;
+    private static final Duration PENDING_TTL = Duration.ofSeconds(30);
+    private static final Duration DEDUP_TTL = Duration.ofMinutes(10);
+
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1])\n" +
+            "if current == false or current == ARGV[1] then\n" +
+            "  redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])\n" +
+            "  return 1\n" +
+            "end\n" +
+            "return 0",
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then\n" +
+            "  return redis.call('DEL', KEYS[1])\n" +
+            "end\n" +
+            "return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Counter duplicatesReturned;
+    private final Counter duplicatesInFlight;
+    private final Counter staleCompletions;
+
+    public RedisMessageDedupService(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.duplicatesReturned = meterRegistry.counter("chat.realtime.messages.deduplicated", "result", "replayed");
+        this.duplicatesInFlight = meterRegistry.counter("chat.realtime.messages.deduplicated", "result", "in_flight");
+        this.staleCompletions = meterRegistry.counter("chat.realtime.messages.deduplicated", "result", "stale_claim");
+    }
+
+    public MessageDedupClaim claim(String userId, String clientMessageId) {
+        if (!hasClientMessageId(clientMessageId)) {
+            return MessageDedupClaim.NONE;
+        }
+        if (clientMessageId.length() > MAX_CLIENT_MESSAGE_ID_LENGTH) {
+            throw new AppException(ErrorCode.INVALID_CLIENT_MESSAGE_ID);
+        }
+
+        String key = buildKey(userId, clientMessageId);
+        String token = PENDING + ":" + UUID.randomUUID();
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, token, PENDING_TTL))) {
+            return new MessageDedupClaim(key, token, null);
+        }
+
+        String existing = redisTemplate.opsForValue().get(key);
+        if (existing == null) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, token, PENDING_TTL))) {
+                return new MessageDedupClaim(key, token, null);
+            }
+            existing = redisTemplate.opsForValue().get(key);
+        }
+        if (existing == null || existing.startsWith(PENDING)) {
+            duplicatesInFlight.increment();
+            throw new AppException(ErrorCode.MESSAGE_SEND_IN_PROGRESS);
+        }
+
+        duplicatesReturned.increment();
+        return new MessageDedupClaim(key, null, existing);
+    }
+
+    public void complete(MessageDedupClaim claim, String messageId) {
+        if (claim.token() == null) {
+            return;
+        }
+        Long stored = redisTemplate.execute(COMPLETE_SCRIPT, List.of(claim.key()), claim.token(), messageId,
+                String.valueOf(DEDUP_TTL.toMillis()));
+        if (stored == null || stored == 0L) {
+            staleCompletions.increment();
+        }
+    }
+
+    public void release(MessageDedupClaim claim) {
+        if (claim.token() != null) {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(claim.key()), claim.token());
+        }
+    }
+
+    private boolean hasClientMessageId(String clientMessageId) {
+        return clientMessageId != null && !clientMessageId.isBlank();
+    }
+
+    private String buildKey(String userId, String clientMessageId) {
+        return DEDUP_PREFIX + userId + ":" + clientMessageId;
+    }
+}
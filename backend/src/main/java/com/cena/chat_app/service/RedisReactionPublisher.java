@@ -1,48 +1,49 @@
 package com.cena.chat_app.service;
 
 import com.cena.chat_app.dto.response.ReactionEventResponse;
+import com.cena.chat_app.websocket.RealtimeEventType;
+import com.cena.chat_app.websocket.RealtimeTransport;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 public class RedisReactionPublisher {
-    private static final String CHANNEL_PREFIX = "conversation:";
-    private static final String CHANNEL_SUFFIX = ":reactions";
-
-    private final StringRedisTemplate redisTemplate;
+    private final RealtimeTransport realtimeTransport;
     private final ObjectMapper objectMapper;
+    private final RedisReplayBuffer redisReplayBuffer;
     private final Counter reactionEventsPublished;
     private final Counter publishFailures;
     private final Counter publishTimeouts;
 
-    public RedisReactionPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
-        this.redisTemplate = redisTemplate;
+    public RedisReactionPublisher(RealtimeTransport realtimeTransport, ObjectMapper objectMapper,
+            RedisReplayBuffer redisReplayBuffer, MeterRegistry meterRegistry) {
+        this.realtimeTransport = realtimeTransport;
         this.objectMapper = objectMapper;
+        this.redisReplayBuffer = redisReplayBuffer;
         this.reactionEventsPublished = meterRegistry.counter("chat.realtime.reaction.events.published");
         this.publishFailures = meterRegistry.counter("chat.realtime.redis.publish.failures", "type", "reaction");
         this.publishTimeouts = meterRegistry.counter("chat.realtime.redis.publish.timeouts", "type", "reaction");
     }
 
     public void publishReactionEvent(String conversationId, ReactionEventResponse event) {
-        String channel = CHANNEL_PREFIX + conversationId + CHANNEL_SUFFIX;
         try {
+            event.setEventOffset(redisReplayBuffer.append(conversationId, RedisReplayBuffer.TYPE_REACTION, event));
             String payload = objectMapper.writeValueAsString(event);
-            redisTemplate.convertAndSend(channel, payload);
+            realtimeTransport.publishToConversation(RealtimeEventType.REACTION, conversationId, payload);
             reactionEventsPublished.increment();
         } catch (Exception e) {
             if (isTimeoutException(e)) {
                 publishTimeouts.increment();
-                log.error("Redis timeout publishing reaction event - conversationId={}, channel={}", conversationId, channel);
+                log.error("Redis timeout publishing reaction event - conversationId={}", conversationId);
             } else {
                 publishFailures.increment();
-                log.error("Failed to publish reaction event to Redis - conversationId={}, channel={}, error={}",
-                        conversationId, channel, e.getMessage());
+                log.error("Failed to publish reaction event to Redis - conversationId={}, error={}",
+                        conversationId, e.getMessage());
             }
         }
     }
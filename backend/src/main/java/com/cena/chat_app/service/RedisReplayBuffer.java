@@ -0,0 +1,141 @@
+package com.cena.chat_app.service;
+
+import com.cena.chat_app.config.RealtimeProperties;
+import com.cena.chat_app.dto.response.ReplayEventResponse;
+import com.cena.chat_app.dto.response.ReplayResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Slf4j
+@Service
+public class RedisReplayBuffer {
+    public static final String TYPE_MESSAGE = "message";
+    public static final String TYPE_MESSAGE_UPDATE = "message_update";
+    public static final String TYPE_REACTION = "reaction";
+    public static final String TYPE_SEEN = "seen";
+
+    private static final String REPLAY_PREFIX = "replay:conversation:";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_PAYLOAD = "payload";
+
+    private static final RedisScript<String> APPEND_SCRIPT = new DefaultRedisScript<>(
+            "local id = redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], '*', 'type', ARGV[2], 'payload', ARGV[3])\n" +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[4])\n" +
+            "return id",
+            String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RealtimeProperties realtimeProperties;
+    private final Counter eventsAppended;
+    private final Counter appendFailures;
+    private final Counter replaysServed;
+    private final Counter resyncsRequired;
+
+    public RedisReplayBuffer(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                             RealtimeProperties realtimeProperties, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.realtimeProperties = realtimeProperties;
+        this.eventsAppended = meterRegistry.counter("chat.realtime.replay.appended");
+        this.appendFailures = meterRegistry.counter("chat.realtime.replay.append.failures");
+        this.replaysServed = meterRegistry.counter("chat.realtime.replay.served");
+        this.resyncsRequired = meterRegistry.counter("chat.realtime.replay.resync.required");
+    }
+
+    public String append(String conversationId, String type, Object event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            String offset = redisTemplate.execute(APPEND_SCRIPT, List.of(buildKey(conversationId)),
+                    String.valueOf(realtimeProperties.getReplayBufferSize()), type, payload,
+                    String.valueOf(realtimeProperties.getReplayTtl().toMillis()));
+            eventsAppended.increment();
+            return offset;
+        } catch (Exception e) {
+            appendFailures.increment();
+            log.error("Failed to append event to replay buffer - conversationId={}, type={}, error={}",
+                    conversationId, type, e.getMessage());
+            return null;
+        }
+    }
+
+    public ReplayResponse replay(String conversationId, String lastEventOffset) {
+        String key = buildKey(conversationId);
+        if (lastEventOffset == null || lastEventOffset.isBlank()) {
+            return resync(conversationId, findLatestOffset(key));
+        }
+
+        List<MapRecord<String, Object, Object>> records;
+        try {
+            records = redisTemplate.opsForStream().range(key,
+                    Range.rightUnbounded(Range.Bound.inclusive(lastEventOffset)),
+                    Limit.limit().count(realtimeProperties.getReplayBufferSize() + 1));
+        } catch (Exception e) {
+            log.warn("Failed to read replay buffer - conversationId={}, offset={}, error={}",
+                    conversationId, lastEventOffset, e.getMessage());
+            return resync(conversationId, null);
+        }
+
+        if (records == null || records.isEmpty() || !lastEventOffset.equals(records.get(0).getId().getValue())) {
+            return resync(conversationId, findLatestOffset(key));
+        }
+
+        List<ReplayEventResponse> events = new ArrayList<>(records.size() - 1);
+        for (MapRecord<String, Object, Object> record : records.subList(1, records.size())) {
+            events.add(ReplayEventResponse.builder()
+                    .type((String) record.getValue().get(FIELD_TYPE))
+                    .eventOffset(record.getId().getValue())
+                    .payload((String) record.getValue().get(FIELD_PAYLOAD))
+                    .build());
+        }
+
+        if (events.size() >= realtimeProperties.getReplayBufferSize()) {
+            return resync(conversationId, findLatestOffset(key));
+        }
+
+        replaysServed.increment();
+        return ReplayResponse.builder()
+                .conversationId(conversationId)
+                .events(events)
+                .latestOffset(events.isEmpty() ? lastEventOffset : events.get(events.size() - 1).getEventOffset())
+                .resyncRequired(false)
+                .build();
+    }
+
+    private ReplayResponse resync(String conversationId, String latestOffset) {
+        resyncsRequired.increment();
+        return ReplayResponse.builder()
+                .conversationId(conversationId)
+                .events(Collections.emptyList())
+                .latestOffset(latestOffset)
+                .resyncRequired(true)
+                .build();
+    }
+
+    private String findLatestOffset(String key) {
+        try {
+            List<MapRecord<String, Object, Object>> latest = redisTemplate.opsForStream()
+                    .reverseRange(key, Range.unbounded(), Limit.limit().count(1));
+            return latest == null || latest.isEmpty() ? null : latest.get(0).getId().getValue();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String buildKey(String conversationId) {
+        return REPLAY_PREFIX + conversationId;
+    }
+}
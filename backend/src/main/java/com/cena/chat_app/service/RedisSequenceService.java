@@ -0,0 +1,46 @@
+package com.cena.chat_app.service;
+
+import com.cena.chat_app.repository.MessageRepository;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class RedisSequenceService {
+    private static final String SEQUENCE_PREFIX = "sequence:conversation:";
+
+    private static final RedisScript<Long> INCREMENT_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then\n" +
+            "  return redis.call('INCR', KEYS[1])\n" +
+            "end\n" +
+            "return -1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MessageRepository messageRepository;
+
+    public RedisSequenceService(StringRedisTemplate redisTemplate, MessageRepository messageRepository) {
+        this.redisTemplate = redisTemplate;
+        this.messageRepository = messageRepository;
+    }
+
+    public long nextSequence(String conversationId) {
+        String key = buildKey(conversationId);
+        Long seq = redisTemplate.execute(INCREMENT_IF_EXISTS_SCRIPT, List.of(key));
+        if (seq != null && seq > 0) {
+            return seq;
+        }
+
+        long persisted = messageRepository.findMaxSeq(conversationId);
+        redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(persisted));
+        Long next = redisTemplate.opsForValue().increment(key);
+        return next != null ? next : persisted + 1;
+    }
+
+    private String buildKey(String conversationId) {
+        return SEQUENCE_PREFIX + conversationId;
+    }
+}
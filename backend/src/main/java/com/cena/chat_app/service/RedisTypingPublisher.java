@@ -1,28 +1,26 @@
 package com.cena.chat_app.service;
 
 import com.cena.chat_app.dto.response.TypingEventResponse;
+import com.cena.chat_app.websocket.RealtimeEventType;
+import com.cena.chat_app.websocket.RealtimeTransport;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 public class RedisTypingPublisher {
-    private static final String CHANNEL_PREFIX = "conversation:";
-    private static final String CHANNEL_SUFFIX = ":typing";
-
-    private final StringRedisTemplate redisTemplate;
+    private final RealtimeTransport realtimeTransport;
     private final ObjectMapper objectMapper;
     private final Counter typingEventsPublished;
     private final Counter publishFailures;
     private final Counter publishTimeouts;
 
-    public RedisTypingPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
-        this.redisTemplate = redisTemplate;
+    public RedisTypingPublisher(RealtimeTransport realtimeTransport, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.realtimeTransport = realtimeTransport;
         this.objectMapper = objectMapper;
         this.typingEventsPublished = meterRegistry.counter("chat.realtime.typing.events.published");
         this.publishFailures = meterRegistry.counter("chat.realtime.redis.publish.failures", "type", "typing");
@@ -30,19 +28,18 @@ public class RedisTypingPublisher {
     }
 
     public void publishTypingEvent(String conversationId, TypingEventResponse event) {
-        String channel = CHANNEL_PREFIX + conversationId + CHANNEL_SUFFIX;
         try {
             String payload = objectMapper.writeValueAsString(event);
-            redisTemplate.convertAndSend(channel, payload);
+            realtimeTransport.publishToConversation(RealtimeEventType.TYPING, conversationId, payload);
             typingEventsPublished.increment();
         } catch (Exception e) {
             if (isTimeoutException(e)) {
                 publishTimeouts.increment();
-                log.error("Redis timeout publishing typing event - conversationId={}, channel={}", conversationId, channel);
+                log.error("Redis timeout publishing typing event - conversationId={}", conversationId);
             } else {
                 publishFailures.increment();
-                log.error("Failed to publish typing event to Redis - conversationId={}, channel={}, error={}",
-                        conversationId, channel, e.getMessage());
+                log.error("Failed to publish typing event to Redis - conversationId={}, error={}",
+                        conversationId, e.getMessage());
             }
         }
     }
@@ -1,14 +1,33 @@
 package com.cena.chat_app.service;
 
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
 
 @Service
 public class RedisTypingService {
     private static final String TYPING_PREFIX = "typing:";
     private static final Duration TYPING_TTL = Duration.ofSeconds(5);
+    private static final RedisScript<List> APPLY_CHANGES_SCRIPT = new DefaultRedisScript<>(
+            "local started = tonumber(ARGV[2])\n" +
+            "for i = 3, 2 + started do\n" +
+            "  redis.call('SADD', KEYS[1], ARGV[i])\n" +
+            "end\n" +
+            "for i = 3 + started, #ARGV do\n" +
+            "  redis.call('SREM', KEYS[1], ARGV[i])\n" +
+            "end\n" +
+            "if started > 0 then\n" +
+            "  redis.call('PEXPIRE', KEYS[1], ARGV[1])\n" +
+            "end\n" +
+            "return redis.call('SMEMBERS', KEYS[1])",
+            List.class);
 
     private final StringRedisTemplate redisTemplate;
 
@@ -16,15 +35,19 @@ public class RedisTypingService {
         this.redisTemplate = redisTemplate;
     }
 
-    public void addTypingUser(String conversationId, String userId) {
-        String key = buildKey(conversationId);
-        redisTemplate.opsForSet().add(key, userId);
-        redisTemplate.expire(key, TYPING_TTL);
-    }
-
-    public void removeTypingUser(String conversationId, String userId) {
-        String key = buildKey(conversationId);
-        redisTemplate.opsForSet().remove(key, userId);
+    public List<String> applyChanges(String conversationId, Collection<String> started, Collection<String> stopped) {
+        List<String> args = new ArrayList<>(started.size() + stopped.size() + 2);
+        args.add(String.valueOf(TYPING_TTL.toMillis()));
+        args.add(String.valueOf(started.size()));
+        args.addAll(started);
+        args.addAll(stopped);
+
+        List<?> members = redisTemplate.execute(APPLY_CHANGES_SCRIPT, List.of(buildKey(conversationId)), args.toArray());
+        TreeSet<String> typingUserIds = new TreeSet<>();
+        if (members != null) {
+            members.forEach(member -> typingUserIds.add(String.valueOf(member)));
+        }
+        return new ArrayList<>(typingUserIds);
     }
 
     private String buildKey(String conversationId) {
@@ -1,53 +1,174 @@
 package com.cena.chat_app.service;
 
 import com.cena.chat_app.dto.response.UnreadUpdateResponse;
+import com.cena.chat_app.websocket.RealtimeEnvelope;
+import com.cena.chat_app.websocket.RealtimeEventType;
+import com.cena.chat_app.websocket.RealtimeTransport;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.ObjectMapper;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Slf4j
 @Service
 public class RedisUnreadPublisher {
-    private static final String CHANNEL_PREFIX = "unread:user:";
-    private static final String CHANNEL_SUFFIX = ":updates";
+    private static final RedisScript<List> INCREMENT_AND_PUBLISH_SCRIPT = new DefaultRedisScript<>(
+            "local n = #KEYS\n" +
+            "local counts = {}\n" +
+            "for i, key in ipairs(KEYS) do\n" +
+            "  local count = redis.call('INCR', key)\n" +
+            "  local message = ARGV[i + 1] .. cjson.encode({conversationId = ARGV[1], unreadCount = count})\n" +
+            "  for channel in string.gmatch(ARGV[n + i + 1], '%S+') do\n" +
+            "    redis.call('PUBLISH', channel, message)\n" +
+            "  end\n" +
+            "  counts[i] = count\n" +
+            "end\n" +
+            "return counts",
+            List.class);
+
+    private static final RedisScript<List> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local counts = {}\n" +
+            "for i, key in ipairs(KEYS) do\n" +
+            "  counts[i] = redis.call('INCR', key)\n" +
+            "end\n" +
+            "return counts",
+            List.class);
 
     private final StringRedisTemplate redisTemplate;
+    private final RealtimeTransport realtimeTransport;
     private final ObjectMapper objectMapper;
+    private final RedisUnreadService redisUnreadService;
     private final Counter unreadUpdatesPublished;
+    private final DistributionSummary fanOutBatchSize;
     private final Counter publishFailures;
     private final Counter publishTimeouts;
 
-    public RedisUnreadPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    public RedisUnreadPublisher(StringRedisTemplate redisTemplate, RealtimeTransport realtimeTransport,
+                                ObjectMapper objectMapper, RedisUnreadService redisUnreadService,
+                                MeterRegistry meterRegistry) {
         this.redisTemplate = redisTemplate;
+        this.realtimeTransport = realtimeTransport;
         this.objectMapper = objectMapper;
+        this.redisUnreadService = redisUnreadService;
         this.unreadUpdatesPublished = meterRegistry.counter("chat.realtime.unread.updates.published");
+        this.fanOutBatchSize = DistributionSummary.builder("chat.realtime.unread.fanout.recipients")
+                .register(meterRegistry);
         this.publishFailures = meterRegistry.counter("chat.realtime.redis.publish.failures", "type", "unread");
         this.publishTimeouts = meterRegistry.counter("chat.realtime.redis.publish.timeouts", "type", "unread");
     }
 
     public void publishUnreadUpdate(String userId, UnreadUpdateResponse update) {
-        String channel = CHANNEL_PREFIX + userId + CHANNEL_SUFFIX;
-        log.info("Publishing unread update - userId={}, channel={}, conversationId={}, unreadCount={}",
-                userId, channel, update.getConversationId(), update.getUnreadCount());
+        log.info("Publishing unread update - userId={}, conversationId={}, unreadCount={}",
+                userId, update.getConversationId(), update.getUnreadCount());
         try {
             String payload = objectMapper.writeValueAsString(update);
-            redisTemplate.convertAndSend(channel, payload);
+            realtimeTransport.publishToUser(RealtimeEventType.UNREAD, userId, payload);
             unreadUpdatesPublished.increment();
             log.info("Unread update published successfully - userId={}", userId);
         } catch (Exception e) {
             if (isTimeoutException(e)) {
                 publishTimeouts.increment();
-                log.error("Redis timeout publishing unread update - userId={}, channel={}", userId, channel);
+                log.error("Redis timeout publishing unread update - userId={}", userId);
+            } else {
+                publishFailures.increment();
+                log.error("Failed to publish unread update to Redis - userId={}, error={}",
+                        userId, e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Long> incrementAndPublish(String conversationId, Collection<String> userIds) {
+        Map<String, Long> unreadCounts = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return unreadCounts;
+        }
+
+        List<String> recipients = new ArrayList<>(userIds);
+        List<String> keys = new ArrayList<>(recipients.size());
+        Object[] args = new Object[recipients.size() * 2 + 1];
+        args[0] = conversationId;
+        for (int i = 0; i < recipients.size(); i++) {
+            keys.add(redisUnreadService.buildKey(recipients.get(i), conversationId));
+            args[i + 1] = RealtimeEnvelope.header(RealtimeEventType.UNREAD, recipients.get(i));
+        }
+
+        boolean publishInScript = !realtimeTransport.isStreams() && !realtimeTransport.isSharded();
+        try {
+            if (publishInScript) {
+                Map<String, Set<String>> channelsByUser = realtimeTransport.resolveUserChannels(recipients);
+                for (int i = 0; i < recipients.size(); i++) {
+                    args[recipients.size() + i + 1] = String.join(" ",
+                            channelsByUser.getOrDefault(recipients.get(i), Set.of()));
+                }
+            }
+            List<?> counts;
+            if (publishInScript) {
+                counts = redisTemplate.execute(INCREMENT_AND_PUBLISH_SCRIPT, keys, args);
+            } else if (realtimeTransport.isSharded()) {
+                counts = incrementEach(keys);
+            } else {
+                counts = redisTemplate.execute(INCREMENT_SCRIPT, keys);
+            }
+            if (counts != null) {
+                for (int i = 0; i < counts.size() && i < recipients.size(); i++) {
+                    unreadCounts.put(recipients.get(i), ((Number) counts.get(i)).longValue());
+                }
+            }
+            if (!publishInScript) {
+                Map<String, String> payloads = new HashMap<>();
+                for (Map.Entry<String, Long> entry : unreadCounts.entrySet()) {
+                    UnreadUpdateResponse update = UnreadUpdateResponse.builder()
+                            .conversationId(conversationId)
+                            .unreadCount(entry.getValue())
+                            .build();
+                    payloads.put(entry.getKey(), objectMapper.writeValueAsString(update));
+                }
+                realtimeTransport.publishToUsers(RealtimeEventType.UNREAD, payloads);
+            }
+            fanOutBatchSize.record(recipients.size());
+            unreadUpdatesPublished.increment(recipients.size());
+        } catch (Exception e) {
+            if (isTimeoutException(e)) {
+                publishTimeouts.increment();
+                log.error("Redis timeout during unread fan-out - conversationId={}, recipients={}",
+                        conversationId, recipients.size());
             } else {
                 publishFailures.increment();
-                log.error("Failed to publish unread update to Redis - userId={}, channel={}, error={}",
-                        userId, channel, e.getMessage());
+                log.error("Failed unread fan-out to Redis - conversationId={}, recipients={}, error={}",
+                        conversationId, recipients.size(), e.getMessage());
             }
         }
+        return unreadCounts;
+    }
+
+    private List<Object> incrementEach(List<String> keys) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (String key : keys) {
+                    ops.opsForValue().increment(key);
+                }
+                return null;
+            }
+        });
     }
 
     private boolean isTimeoutException(Exception e) {
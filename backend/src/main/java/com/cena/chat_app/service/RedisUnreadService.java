@@ -3,6 +3,11 @@ package com.cena.chat_app.service;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
 public class RedisUnreadService {
     private static final String UNREAD_PREFIX = "unread:user:";
@@ -25,12 +30,29 @@ public class RedisUnreadService {
         return value != null ? Long.parseLong(value) : 0L;
     }
 
+    public Map<String, Long> getUnreadCounts(String userId, List<String> conversationIds) {
+        Map<String, Long> counts = new HashMap<>();
+        if (conversationIds.isEmpty()) {
+            return counts;
+        }
+
+        List<String> keys = conversationIds.stream()
+                .map(conversationId -> buildKey(userId, conversationId))
+                .collect(Collectors.toList());
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; i < conversationIds.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            counts.put(conversationIds.get(i), value != null ? Long.parseLong(value) : 0L);
+        }
+        return counts;
+    }
+
     public void resetUnreadCount(String userId, String conversationId) {
         String key = buildKey(userId, conversationId);
         redisTemplate.opsForValue().set(key, "0");
     }
 
-    private String buildKey(String userId, String conversationId) {
+    public String buildKey(String userId, String conversationId) {
         return UNREAD_PREFIX + userId + CONVERSATION_INFIX + conversationId;
     }
 }
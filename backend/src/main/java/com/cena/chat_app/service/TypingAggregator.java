@@ -0,0 +1,141 @@
+package com.cena.chat_app.service;
+
+import com.cena.chat_app.cache.ExpiringLruCache;
+import com.cena.chat_app.config.RealtimeProperties;
+import com.cena.chat_app.dto.response.TypingEventResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class TypingAggregator {
+    private static final int MAX_CONVERSATIONS = 10_000;
+    private static final Duration REFRESH_INTERVAL = Duration.ofSeconds(2);
+
+    private final RedisTypingService redisTypingService;
+    private final RedisTypingPublisher redisTypingPublisher;
+    private final RealtimeProperties realtimeProperties;
+    private final Map<String, Map<String, Boolean>> pendingChanges = new ConcurrentHashMap<>();
+    private final ExpiringLruCache<String, List<String>> lastPublished =
+            new ExpiringLruCache<>(MAX_CONVERSATIONS, REFRESH_INTERVAL);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "typing-aggregator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter changesReceived;
+    private final Counter snapshotsPublished;
+    private final Counter snapshotsSuppressed;
+
+    public TypingAggregator(RedisTypingService redisTypingService,
+                            RedisTypingPublisher redisTypingPublisher,
+                            RealtimeProperties realtimeProperties,
+                            MeterRegistry meterRegistry) {
+        this.redisTypingService = redisTypingService;
+        this.redisTypingPublisher = redisTypingPublisher;
+        this.realtimeProperties = realtimeProperties;
+        this.changesReceived = meterRegistry.counter("chat.realtime.typing.changes.received");
+        this.snapshotsPublished = meterRegistry.counter("chat.realtime.typing.snapshots.published");
+        this.snapshotsSuppressed = meterRegistry.counter("chat.realtime.typing.snapshots.suppressed");
+    }
+
+    public void record(String conversationId, String userId, boolean typing) {
+        changesReceived.increment();
+        boolean[] opened = new boolean[1];
+        pendingChanges.compute(conversationId, (id, changes) -> {
+            if (changes == null) {
+                changes = new LinkedHashMap<>();
+                opened[0] = true;
+            }
+            changes.remove(userId);
+            changes.put(userId, typing);
+            return changes;
+        });
+        if (opened[0]) {
+            scheduler.schedule(() -> flush(conversationId),
+                    realtimeProperties.getTypingWindow().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void flush(String conversationId) {
+        Map<String, Boolean> changes = pendingChanges.remove(conversationId);
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<String> started = new ArrayList<>();
+            List<String> stopped = new ArrayList<>();
+            changes.forEach((userId, typing) -> (typing ? started : stopped).add(userId));
+            List<String> typingUserIds = redisTypingService.applyChanges(conversationId, started, stopped);
+
+            List<String> previous = lastPublished.getIfPresent(conversationId);
+            if (typingUserIds.equals(previous)) {
+                snapshotsSuppressed.increment();
+                return;
+            }
+
+            String changedUserId = null;
+            boolean typing = !typingUserIds.isEmpty();
+            if (changes.size() == 1) {
+                Map.Entry<String, Boolean> change = changes.entrySet().iterator().next();
+                changedUserId = change.getKey();
+                typing = change.getValue();
+            }
+
+            TypingEventResponse snapshot = TypingEventResponse.builder()
+                    .conversationId(conversationId)
+                    .userId(changedUserId)
+                    .isTyping(typing)
+                    .typingUserIds(typingUserIds)
+                    .excludedUserIds(unaffectedActors(changes.keySet(), previous, typingUserIds))
+                    .build();
+            redisTypingPublisher.publishTypingEvent(conversationId, snapshot);
+            snapshotsPublished.increment();
+
+            if (typingUserIds.isEmpty()) {
+                lastPublished.invalidate(conversationId);
+            } else {
+                lastPublished.put(conversationId, typingUserIds);
+            }
+        } catch (Exception e) {
+            log.error("Failed to flush typing changes - conversationId={}, error={}", conversationId, e.getMessage());
+        }
+    }
+
+    private List<String> unaffectedActors(Collection<String> actorIds, List<String> previous, List<String> current) {
+        List<String> before = previous != null ? previous : List.of();
+        List<String> unaffected = new ArrayList<>();
+        for (String actorId : actorIds) {
+            if (withoutUser(before, actorId).equals(withoutUser(current, actorId))) {
+                unaffected.add(actorId);
+            }
+        }
+        return unaffected;
+    }
+
+    private List<String> withoutUser(List<String> userIds, String userId) {
+        List<String> others = new ArrayList<>(userIds);
+        others.remove(userId);
+        return others;
+    }
+}
@@ -1,5 +1,6 @@
 package com.cena.chat_app.service;
 
+import com.cena.chat_app.cache.ConversationContextCache;
 import com.cena.chat_app.dto.ApiResponse;
 import com.cena.chat_app.dto.request.RequestProfilePresignedUrlRequest;
 import com.cena.chat_app.dto.request.UpdateProfileRequest;
@@ -27,11 +28,14 @@ public class UserService {
     private final UserRepository userRepository;
     private final BlockedUserRepository blockedUserRepository;
     private final MinioService minioService;
+    private final ConversationContextCache conversationContextCache;
 
-    public UserService(UserRepository userRepository, BlockedUserRepository blockedUserRepository, MinioService minioService) {
+    public UserService(UserRepository userRepository, BlockedUserRepository blockedUserRepository, MinioService minioService,
+                       ConversationContextCache conversationContextCache) {
         this.userRepository = userRepository;
         this.blockedUserRepository = blockedUserRepository;
         this.minioService = minioService;
+        this.conversationContextCache = conversationContextCache;
     }
 
     public ApiResponse<UserProfileResponse> getCurrentUserProfile() {
@@ -184,6 +188,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        conversationContextCache.invalidateProfile(userId);
 
         UserProfileResponse profileResponse = UserProfileResponse.builder()
             .id(user.getId())
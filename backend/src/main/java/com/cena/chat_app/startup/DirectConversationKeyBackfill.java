@@ -0,0 +1,69 @@
+package com.cena.chat_app.startup;
+
+import com.cena.chat_app.entity.Conversation;
+import com.cena.chat_app.entity.ConversationMember;
+import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.repository.ConversationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DirectConversationKeyBackfill implements ApplicationRunner {
+    private final ConversationRepository conversationRepository;
+    private final ConversationMemberRepository conversationMemberRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            backfill();
+        } catch (Exception e) {
+            log.error("Direct conversation key backfill failed - error={}", e.getMessage());
+        }
+    }
+
+    private void backfill() {
+        List<Conversation> conversations = conversationRepository.findByTypeAndDirectKeyIsNull("DIRECT");
+        if (conversations.isEmpty()) {
+            return;
+        }
+
+        List<String> conversationIds = conversations.stream()
+            .map(Conversation::getId)
+            .collect(Collectors.toList());
+
+        Map<String, List<ConversationMember>> membersByConversation = conversationMemberRepository
+            .findByConversationIdIn(conversationIds).stream()
+            .collect(Collectors.groupingBy(ConversationMember::getConversationId));
+
+        int assigned = 0;
+        int duplicates = 0;
+        for (Conversation conversation : conversations) {
+            List<ConversationMember> members = membersByConversation.get(conversation.getId());
+            if (members == null || members.size() != 2) {
+                continue;
+            }
+
+            String directKey = Conversation.directKeyOf(members.get(0).getUserId(), members.get(1).getUserId());
+            try {
+                conversationRepository.assignDirectKey(conversation.getId(), directKey);
+                assigned++;
+            } catch (DuplicateKeyException e) {
+                duplicates++;
+                log.warn("Duplicate direct conversation left without key - conversationId={}, directKey={}",
+                    conversation.getId(), directKey);
+            }
+        }
+
+        log.info("Direct conversation key backfill complete - assigned={}, duplicates={}", assigned, duplicates);
+    }
+}
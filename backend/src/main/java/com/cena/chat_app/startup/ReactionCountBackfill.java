@@ -0,0 +1,92 @@
+package com.cena.chat_app.startup;
+
+import com.cena.chat_app.entity.Message;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactionCountBackfill implements ApplicationRunner {
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            backfill();
+        } catch (Exception e) {
+            log.error("Reaction count backfill failed - error={}", e.getMessage());
+        }
+    }
+
+    private void backfill() {
+        MongoCollection<Document> messages = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Message.class));
+        Document filter = new Document("$or", List.of(
+            new Document("reactions", new Document("$type", "object")),
+            new Document("reactionCounts", new Document("$exists", true))));
+
+        int scanned = 0;
+        int corrected = 0;
+        List<WriteModel<Document>> updates = new ArrayList<>();
+        for (Document message : messages.find(filter)
+                .projection(new Document("reactions", 1).append("reactionCounts", 1))
+                .batchSize(BATCH_SIZE)) {
+            scanned++;
+            Document reactions = message.get("reactions", Document.class);
+            Map<String, Long> expected = countReactions(reactions);
+            if (expected.equals(nonZeroCounts(message.get("reactionCounts", Document.class)))) {
+                continue;
+            }
+
+            Document guard = new Document("_id", message.get("_id"))
+                .append("reactions", reactions != null ? reactions : new Document("$exists", false));
+            updates.add(new UpdateOneModel<>(guard,
+                new Document("$set", new Document("reactionCounts", new Document(expected)))));
+            if (updates.size() >= BATCH_SIZE) {
+                corrected += (int) messages.bulkWrite(updates).getModifiedCount();
+                updates.clear();
+            }
+        }
+        if (!updates.isEmpty()) {
+            corrected += (int) messages.bulkWrite(updates).getModifiedCount();
+        }
+
+        log.info("Reaction count backfill complete - scanned={}, corrected={}", scanned, corrected);
+    }
+
+    private Map<String, Long> countReactions(Document reactions) {
+        Map<String, Long> counts = new HashMap<>();
+        if (reactions != null) {
+            reactions.values().forEach(type -> counts.merge(String.valueOf(type), 1L, Long::sum));
+        }
+        return counts;
+    }
+
+    private Map<String, Long> nonZeroCounts(Document reactionCounts) {
+        Map<String, Long> counts = new HashMap<>();
+        if (reactionCounts != null) {
+            reactionCounts.forEach((type, count) -> {
+                long value = count instanceof Number number ? number.longValue() : 0L;
+                if (value != 0) {
+                    counts.put(type, value);
+                }
+            });
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,46 @@
+package com.cena.chat_app.websocket;
+
+import java.util.zip.Deflater;
+
+public class CompressionEstimator {
+    private static final int SYNC_FLUSH_TRAILER = 4;
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final byte[] buffer = new byte[8192];
+    private long rawBytes;
+    private long compressedBytes;
+    private boolean closed;
+
+    public synchronized int record(byte[] payload) {
+        if (closed) {
+            return payload.length;
+        }
+        deflater.setInput(payload);
+        int total = 0;
+        int written;
+        do {
+            written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            total += written;
+        } while (written == buffer.length);
+
+        int compressed = Math.max(total - SYNC_FLUSH_TRAILER, 0);
+        rawBytes += payload.length;
+        compressedBytes += compressed;
+        return compressed;
+    }
+
+    public synchronized long getRawBytes() {
+        return rawBytes;
+    }
+
+    public synchronized long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.cena.chat_app.websocket;
+
+import com.cena.chat_app.config.RealtimeProperties;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
+
+@Component
+public class CompressionHandshakeHandler extends DefaultHandshakeHandler {
+    public static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final RealtimeProperties realtimeProperties;
+
+    public CompressionHandshakeHandler(RealtimeProperties realtimeProperties) {
+        this.realtimeProperties = realtimeProperties;
+    }
+
+    @Override
+    protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                 List<WebSocketExtension> requestedExtensions,
+                                                                 List<WebSocketExtension> supportedExtensions) {
+        List<WebSocketExtension> extensions = super.filterRequestedExtensions(request, requestedExtensions,
+                supportedExtensions);
+        if (realtimeProperties.isCompressionEnabled()) {
+            return extensions;
+        }
+        return extensions.stream()
+                .filter(extension -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()))
+                .toList();
+    }
+}
@@ -0,0 +1,23 @@
+package com.cena.chat_app.websocket;
+
+import com.cena.chat_app.cache.ConversationContextCache;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ConversationInvalidationSubscriber implements RealtimeEventHandler {
+    private final ConversationContextCache conversationContextCache;
+
+    public ConversationInvalidationSubscriber(ConversationContextCache conversationContextCache) {
+        this.conversationContextCache = conversationContextCache;
+    }
+
+    @Override
+    public RealtimeEventType getEventType() {
+        return RealtimeEventType.CONVERSATION_INVALIDATE;
+    }
+
+    @Override
+    public void handle(String conversationId, byte[] payload) {
+        conversationContextCache.invalidate(conversationId);
+    }
+}
@@ -0,0 +1,151 @@
+package com.cena.chat_app.websocket;
+
+import com.cena.chat_app.config.RealtimeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class OutboundBackpressureDecoratorFactory implements WebSocketHandlerDecoratorFactory,
+        PrioritizedSendSession.Listener {
+    public static final String BATCHING_HEADER = "x-frame-batching";
+
+    private final RealtimeProperties realtimeProperties;
+    private final Map<String, PrioritizedSendSession> sessions = new ConcurrentHashMap<>();
+    private final Map<OutboundPriority, Counter> droppedCounters = new EnumMap<>(OutboundPriority.class);
+    private final Counter saturatedDisconnects;
+    private final DistributionSummary batchSizes;
+    private final Counter sampledRawBytes;
+    private final Counter sampledCompressedBytes;
+    private final DistributionSummary sessionCompressionRatio;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public OutboundBackpressureDecoratorFactory(RealtimeProperties realtimeProperties, MeterRegistry meterRegistry) {
+        this.realtimeProperties = realtimeProperties;
+        for (OutboundPriority priority : OutboundPriority.values()) {
+            droppedCounters.put(priority, meterRegistry.counter("chat.websocket.outbound.dropped",
+                    "priority", priority.name().toLowerCase()));
+        }
+        this.saturatedDisconnects = meterRegistry.counter("chat.websocket.outbound.saturated.disconnects");
+        this.batchSizes = meterRegistry.summary("chat.websocket.outbound.batch.frames");
+        this.sampledRawBytes = meterRegistry.counter("chat.websocket.outbound.sampled.bytes", "encoding", "raw");
+        this.sampledCompressedBytes = meterRegistry.counter("chat.websocket.outbound.sampled.bytes",
+                "encoding", "compressed");
+        this.sessionCompressionRatio = meterRegistry.summary("chat.websocket.session.compression.ratio");
+        Gauge.builder("chat.websocket.outbound.queued", sessions,
+                        s -> s.values().stream().mapToInt(PrioritizedSendSession::getQueuedCount).sum())
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.outbound.queued.max", sessions,
+                        s -> s.values().stream().mapToInt(PrioritizedSendSession::getQueuedCount).max().orElse(0))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                PrioritizedSendSession prioritized = new PrioritizedSendSession(session,
+                        realtimeProperties.getSendBufferSize(),
+                        realtimeProperties.getSendSaturationTimeout().toMillis(),
+                        executor, OutboundBackpressureDecoratorFactory.this);
+                if (isCompressed(session)
+                        && ThreadLocalRandom.current().nextDouble() < realtimeProperties.getCompressionSampleRate()) {
+                    prioritized.sampleCompression(new CompressionEstimator());
+                }
+                sessions.put(session.getId(), prioritized);
+                super.afterConnectionEstablished(prioritized);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                if (message instanceof TextMessage text && requestsBatching(text.getPayload())) {
+                    PrioritizedSendSession prioritized = sessions.get(session.getId());
+                    if (prioritized != null && !realtimeProperties.getBatchWindow().isZero()) {
+                        prioritized.enableBatching(realtimeProperties.getBatchWindow().toMillis(),
+                                realtimeProperties.getBatchMaxBytes());
+                    }
+                }
+                super.handleMessage(session, message);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                PrioritizedSendSession prioritized = sessions.remove(session.getId());
+                if (prioritized != null) {
+                    prioritized.discard();
+                    recordSessionCompression(prioritized.getCompressionEstimator());
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @Override
+    public void dropped(OutboundPriority priority) {
+        droppedCounters.get(priority).increment();
+    }
+
+    @Override
+    public void disconnected(PrioritizedSendSession session) {
+        saturatedDisconnects.increment();
+    }
+
+    @Override
+    public void batched(int frames) {
+        batchSizes.record(frames);
+    }
+
+    @Override
+    public void compressed(int rawBytes, int compressedBytes) {
+        sampledRawBytes.increment(rawBytes);
+        sampledCompressedBytes.increment(compressedBytes);
+    }
+
+    private boolean isCompressed(WebSocketSession session) {
+        return session.getExtensions().stream()
+                .anyMatch(extension -> CompressionHandshakeHandler.PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()));
+    }
+
+    private void recordSessionCompression(CompressionEstimator estimator) {
+        if (estimator != null && estimator.getRawBytes() > 0) {
+            sessionCompressionRatio.record((double) estimator.getCompressedBytes() / estimator.getRawBytes());
+        }
+    }
+
+    private boolean requestsBatching(String frame) {
+        if (!frame.startsWith("CONNECT") && !frame.startsWith("STOMP")) {
+            return false;
+        }
+        int headersEnd = frame.indexOf("\n\n");
+        String headers = headersEnd < 0 ? frame : frame.substring(0, headersEnd);
+        for (String line : headers.split("\\r?\\n")) {
+            if (line.equalsIgnoreCase(BATCHING_HEADER + ":true")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,57 @@
+package com.cena.chat_app.websocket;
+
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+public enum OutboundPriority {
+    CONTROL(false),
+    MESSAGE(false),
+    UPDATE(true),
+    SEEN(true),
+    TYPING(true);
+
+    private static final String MESSAGE_COMMAND = "MESSAGE\n";
+    private static final String DESTINATION_HEADER = "\ndestination:";
+
+    private final boolean droppable;
+
+    OutboundPriority(boolean droppable) {
+        this.droppable = droppable;
+    }
+
+    public boolean isDroppable() {
+        return droppable;
+    }
+
+    public static OutboundPriority classify(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage textMessage)) {
+            return MESSAGE;
+        }
+        String frame = textMessage.getPayload();
+        if (!frame.startsWith(MESSAGE_COMMAND)) {
+            return CONTROL;
+        }
+
+        int headersEnd = frame.indexOf("\n\n");
+        int start = frame.indexOf(DESTINATION_HEADER);
+        if (start < 0 || (headersEnd >= 0 && start > headersEnd)) {
+            return MESSAGE;
+        }
+        start += DESTINATION_HEADER.length();
+        int end = frame.indexOf('\n', start);
+        return forDestination(frame.substring(start, end < 0 ? frame.length() : end));
+    }
+
+    public static OutboundPriority forDestination(String destination) {
+        if (destination.endsWith("/queue/typing")) {
+            return TYPING;
+        }
+        if (destination.endsWith("/queue/seen") || destination.endsWith("/queue/unread")) {
+            return SEEN;
+        }
+        if (destination.endsWith("/queue/message-updates") || destination.endsWith("/queue/reactions")) {
+            return UPDATE;
+        }
+        return MESSAGE;
+    }
+}
@@ -0,0 +1,289 @@
+package com.cena.chat_app.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+public class PrioritizedSendSession extends WebSocketSessionDecorator {
+    private final int bufferSize;
+    private final long saturationTimeoutMillis;
+    private final Executor executor;
+    private final Listener listener;
+    private final Map<OutboundPriority, Deque<WebSocketMessage<?>>> lanes = new EnumMap<>(OutboundPriority.class);
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private int queued;
+    private long saturatedSince;
+    private volatile boolean closing;
+    private volatile CloseStatus closeStatus;
+    private volatile long batchWindowMillis;
+    private volatile int batchMaxBytes;
+    private volatile CompressionEstimator compressionEstimator;
+
+    public PrioritizedSendSession(WebSocketSession delegate, int bufferSize, long saturationTimeoutMillis,
+                                  Executor executor, Listener listener) {
+        super(delegate);
+        this.bufferSize = bufferSize;
+        this.saturationTimeoutMillis = saturationTimeoutMillis;
+        this.executor = executor;
+        this.listener = listener;
+        for (OutboundPriority priority : OutboundPriority.values()) {
+            lanes.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        if (closing) {
+            return;
+        }
+        if (!enqueue(OutboundPriority.classify(message), message)) {
+            closeSaturated();
+            return;
+        }
+        scheduleDrain();
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+        synchronized (lanes) {
+            if (closing) {
+                return;
+            }
+            closing = true;
+            closeStatus = status;
+            for (OutboundPriority priority : OutboundPriority.values()) {
+                if (priority != OutboundPriority.CONTROL) {
+                    queued -= lanes.get(priority).size();
+                    lanes.get(priority).clear();
+                }
+            }
+        }
+        scheduleDrain();
+    }
+
+    public void enableBatching(long windowMillis, int maxBytes) {
+        this.batchMaxBytes = maxBytes;
+        this.batchWindowMillis = windowMillis;
+    }
+
+    public boolean isBatching() {
+        return batchWindowMillis > 0;
+    }
+
+    public void sampleCompression(CompressionEstimator estimator) {
+        this.compressionEstimator = estimator;
+    }
+
+    public CompressionEstimator getCompressionEstimator() {
+        return compressionEstimator;
+    }
+
+    public int getQueuedCount() {
+        synchronized (lanes) {
+            return queued;
+        }
+    }
+
+    public void discard() {
+        closing = true;
+        synchronized (lanes) {
+            lanes.values().forEach(Deque::clear);
+            queued = 0;
+        }
+        CompressionEstimator estimator = compressionEstimator;
+        if (estimator != null) {
+            estimator.close();
+        }
+    }
+
+    private boolean enqueue(OutboundPriority priority, WebSocketMessage<?> message) {
+        synchronized (lanes) {
+            if (queued >= bufferSize) {
+                long now = System.currentTimeMillis();
+                if (saturatedSince == 0) {
+                    saturatedSince = now;
+                } else if (now - saturatedSince > saturationTimeoutMillis) {
+                    return false;
+                }
+
+                OutboundPriority victim = findVictim(priority);
+                if (victim == null) {
+                    if (!priority.isDroppable()) {
+                        return false;
+                    }
+                    listener.dropped(priority);
+                    return true;
+                }
+                lanes.get(victim).pollFirst();
+                queued--;
+                listener.dropped(victim);
+            }
+            lanes.get(priority).addLast(message);
+            queued++;
+            return true;
+        }
+    }
+
+    private OutboundPriority findVictim(OutboundPriority incoming) {
+        OutboundPriority[] priorities = OutboundPriority.values();
+        for (int i = priorities.length - 1; i >= incoming.ordinal(); i--) {
+            OutboundPriority candidate = priorities[i];
+            if (candidate.isDroppable() && !lanes.get(candidate).isEmpty()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private WebSocketMessage<?> poll() {
+        synchronized (lanes) {
+            for (Deque<WebSocketMessage<?>> lane : lanes.values()) {
+                WebSocketMessage<?> next = lane.pollFirst();
+                if (next != null) {
+                    queued--;
+                    if (queued < bufferSize) {
+                        saturatedSince = 0;
+                    }
+                    return next;
+                }
+            }
+            return null;
+        }
+    }
+
+    private TextMessage pollText(int remainingBytes) {
+        synchronized (lanes) {
+            for (Deque<WebSocketMessage<?>> lane : lanes.values()) {
+                WebSocketMessage<?> head = lane.peekFirst();
+                if (head == null) {
+                    continue;
+                }
+                if (!(head instanceof TextMessage text) || text.getPayloadLength() > remainingBytes) {
+                    return null;
+                }
+                lane.pollFirst();
+                queued--;
+                if (queued < bufferSize) {
+                    saturatedSince = 0;
+                }
+                return text;
+            }
+            return null;
+        }
+    }
+
+    private WebSocketMessage<?> batch(WebSocketMessage<?> first) {
+        if (!(first instanceof TextMessage text)) {
+            return first;
+        }
+        StringBuilder frames = new StringBuilder(text.getPayload());
+        int bytes = text.getPayloadLength();
+        int count = 1;
+        TextMessage next;
+        while ((next = pollText(batchMaxBytes - bytes)) != null) {
+            frames.append(next.getPayload());
+            bytes += next.getPayloadLength();
+            count++;
+        }
+        if (count == 1) {
+            return first;
+        }
+        listener.batched(count);
+        return new TextMessage(frames.toString());
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            long windowMillis = batchWindowMillis;
+            if (windowMillis > 0) {
+                Thread.sleep(windowMillis);
+            }
+            WebSocketMessage<?> next;
+            while ((!closing || closeStatus != null) && (next = poll()) != null) {
+                WebSocketMessage<?> outbound = windowMillis > 0 ? batch(next) : next;
+                getDelegate().sendMessage(outbound);
+                recordCompression(outbound);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to send buffered frame - sessionId={}, error={}", getId(), e.getMessage());
+            discard();
+            closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+            return;
+        } finally {
+            draining.set(false);
+        }
+        if (closeStatus != null) {
+            finishClose();
+        } else if (!closing && getQueuedCount() > 0) {
+            scheduleDrain();
+        }
+    }
+
+    private void finishClose() {
+        if (getQueuedCount() > 0) {
+            scheduleDrain();
+        } else if (closed.compareAndSet(false, true)) {
+            closeQuietly(closeStatus);
+        }
+    }
+
+    private void recordCompression(WebSocketMessage<?> message) {
+        CompressionEstimator estimator = compressionEstimator;
+        if (estimator != null && message instanceof TextMessage text) {
+            byte[] payload = text.asBytes();
+            listener.compressed(payload.length, estimator.record(payload));
+        }
+    }
+
+    private void closeSaturated() {
+        if (closing) {
+            return;
+        }
+        discard();
+        listener.disconnected(this);
+        log.warn("Closing saturated WebSocket session - sessionId={}, bufferSize={}", getId(), bufferSize);
+        closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        closed.set(true);
+        try {
+            getDelegate().close(status);
+        } catch (IOException e) {
+            log.debug("Failed to close WebSocket session - sessionId={}, error={}", getId(), e.getMessage());
+        }
+    }
+
+    public interface Listener {
+        void dropped(OutboundPriority priority);
+
+        void disconnected(PrioritizedSendSession session);
+
+        void batched(int frames);
+
+        void compressed(int rawBytes, int compressedBytes);
+    }
+}
@@ -0,0 +1,44 @@
+package com.cena.chat_app.websocket;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public record RealtimeEnvelope(RealtimeEventType type, String targetId, byte[] payload) {
+    private static final byte TYPE_SEPARATOR = '\t';
+    private static final byte HEADER_END = '\n';
+
+    public static String header(RealtimeEventType type, String targetId) {
+        return type.name() + (char) TYPE_SEPARATOR + targetId + (char) HEADER_END;
+    }
+
+    public static String encode(RealtimeEventType type, String targetId, String payload) {
+        return header(type, targetId) + payload;
+    }
+
+    public static RealtimeEnvelope decode(byte[] body) {
+        int typeEnd = indexOf(body, TYPE_SEPARATOR, 0);
+        if (typeEnd < 0) {
+            return null;
+        }
+        int headerEnd = indexOf(body, HEADER_END, typeEnd + 1);
+        if (headerEnd < 0) {
+            return null;
+        }
+
+        RealtimeEventType type = RealtimeEventType.fromName(new String(body, 0, typeEnd, StandardCharsets.UTF_8));
+        if (type == null) {
+            return null;
+        }
+        String targetId = new String(body, typeEnd + 1, headerEnd - typeEnd - 1, StandardCharsets.UTF_8);
+        return new RealtimeEnvelope(type, targetId, Arrays.copyOfRange(body, headerEnd + 1, body.length));
+    }
+
+    private static int indexOf(byte[] body, byte value, int from) {
+        for (int i = from; i < body.length; i++) {
+            if (body[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,54 @@
+package com.cena.chat_app.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class RealtimeEventDispatcher implements MessageListener {
+    private final Map<RealtimeEventType, RealtimeEventHandler> handlers = new EnumMap<>(RealtimeEventType.class);
+    private final Counter unroutableEvents;
+
+    public RealtimeEventDispatcher(List<RealtimeEventHandler> eventHandlers, MeterRegistry meterRegistry) {
+        for (RealtimeEventHandler handler : eventHandlers) {
+            RealtimeEventHandler previous = handlers.put(handler.getEventType(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate realtime handler for " + handler.getEventType());
+            }
+        }
+        this.unroutableEvents = meterRegistry.counter("chat.realtime.redis.subscribe.unroutable");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        dispatch(new String(message.getChannel()), message.getBody());
+    }
+
+    public void dispatch(String channel, byte[] body) {
+        RealtimeEnvelope envelope = RealtimeEnvelope.decode(body);
+        if (envelope == null) {
+            unroutableEvents.increment();
+            log.warn("Dropping malformed realtime envelope - channel={}", channel);
+            return;
+        }
+        dispatch(envelope.type(), envelope.targetId(), envelope.payload());
+    }
+
+    public void dispatch(RealtimeEventType type, String targetId, byte[] payload) {
+        RealtimeEventHandler handler = handlers.get(type);
+        if (handler == null) {
+            unroutableEvents.increment();
+            log.warn("No realtime handler registered - type={}, targetId={}", type, targetId);
+            return;
+        }
+        handler.handle(targetId, payload);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cena.chat_app.websocket;
+
+public interface RealtimeEventHandler {
+    RealtimeEventType getEventType();
+
+    void handle(String targetId, byte[] payload);
+}
@@ -0,0 +1,22 @@
+package com.cena.chat_app.websocket;
+
+public enum RealtimeEventType {
+    MESSAGE,
+    MESSAGE_UPDATE,
+    REACTION,
+    SEEN,
+    TYPING,
+    GROUP_EVENT,
+    UNREAD,
+    BLOCK_INVALIDATE,
+    CONVERSATION_INVALIDATE;
+
+    public static RealtimeEventType fromName(String name) {
+        for (RealtimeEventType type : values()) {
+            if (type.name().equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,268 @@
+package com.cena.chat_app.websocket;
+
+import com.cena.chat_app.config.RealtimeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class RealtimeStreamConsumer implements SmartLifecycle {
+    private static final long MAX_DELIVERIES = 3;
+    private static final Set<RealtimeEventType> EPHEMERAL_TYPES =
+            EnumSet.of(RealtimeEventType.TYPING, RealtimeEventType.SEEN);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final RealtimeProperties realtimeProperties;
+    private final RealtimeEventDispatcher dispatcher;
+    private final Counter recordsDispatched;
+    private final Counter dispatchFailures;
+    private final Counter staleRecordsDropped;
+    private final Counter exhaustedRecordsDropped;
+    private final Counter groupsDestroyed;
+    private final Counter groupsRecreated;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+    private ScheduledExecutorService maintenance;
+    private volatile boolean running;
+
+    public RealtimeStreamConsumer(RedisConnectionFactory connectionFactory,
+                                  StringRedisTemplate redisTemplate,
+                                  RealtimeProperties realtimeProperties,
+                                  RealtimeEventDispatcher dispatcher,
+                                  MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = redisTemplate;
+        this.realtimeProperties = realtimeProperties;
+        this.dispatcher = dispatcher;
+        this.recordsDispatched = meterRegistry.counter("chat.realtime.redis.stream.dispatched");
+        this.dispatchFailures = meterRegistry.counter("chat.realtime.redis.stream.failures");
+        this.staleRecordsDropped = meterRegistry.counter("chat.realtime.redis.stream.dropped", "reason", "stale");
+        this.exhaustedRecordsDropped = meterRegistry.counter("chat.realtime.redis.stream.dropped", "reason", "deliveries");
+        this.groupsDestroyed = meterRegistry.counter("chat.realtime.redis.stream.groups.destroyed");
+        this.groupsRecreated = meterRegistry.counter("chat.realtime.redis.stream.groups.recreated");
+    }
+
+    @Override
+    public void start() {
+        if (!realtimeProperties.isStreams() || running) {
+            return;
+        }
+
+        String streamKey = realtimeProperties.getStreamKey();
+        Consumer consumer = Consumer.from(realtimeProperties.getNodeId(), realtimeProperties.getNodeId());
+
+        refreshHeartbeat();
+        createGroup(streamKey, consumer.getGroup());
+        drainPending(streamKey, consumer);
+
+        container = StreamMessageListenerContainer.create(connectionFactory,
+                StreamMessageListenerContainer.StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(realtimeProperties.getStreamPollTimeout())
+                        .batchSize(realtimeProperties.getStreamBatchSize())
+                        .build());
+        container.register(StreamMessageListenerContainer.StreamReadRequest
+                        .builder(StreamOffset.create(streamKey, ReadOffset.lastConsumed()))
+                        .consumer(consumer)
+                        .autoAcknowledge(false)
+                        .cancelOnError(e -> false)
+                        .errorHandler(e -> handleReadError(streamKey, consumer.getGroup(), e))
+                        .build(),
+                record -> handleRecord(consumer.getGroup(), record));
+        container.start();
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "realtime-stream-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = realtimeProperties.getStreamMaintenanceInterval().toMillis();
+        maintenance.scheduleWithFixedDelay(() -> maintain(streamKey, consumer),
+                interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Realtime stream consumer started - stream={}, group={}", streamKey, consumer.getGroup());
+    }
+
+    @Override
+    public void stop() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        if (container != null) {
+            container.stop();
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void createGroup(String streamKey, String group) {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands()
+                    .xGroupCreate(streamKey.getBytes(StandardCharsets.UTF_8), group, ReadOffset.latest(), true));
+        } catch (Exception e) {
+            if (!hasRedisError(e, "BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private void handleReadError(String streamKey, String group, Throwable error) {
+        if (!hasRedisError(error, "NOGROUP")) {
+            log.error("Failed to read realtime stream - stream={}, error={}", streamKey, error.getMessage());
+            return;
+        }
+        try {
+            createGroup(streamKey, group);
+            groupsRecreated.increment();
+            log.warn("Recreated missing realtime stream group - stream={}, group={}", streamKey, group);
+        } catch (Exception e) {
+            log.error("Failed to recreate realtime stream group - stream={}, group={}, error={}",
+                    streamKey, group, e.getMessage());
+        }
+    }
+
+    private boolean hasRedisError(Throwable error, String code) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current.getMessage() != null && current.getMessage().contains(code)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drainPending(String streamKey, Consumer consumer) {
+        String offset = "0";
+        while (true) {
+            List<MapRecord<String, Object, Object>> pending = redisTemplate.opsForStream().read(consumer,
+                    StreamReadOptions.empty().count(realtimeProperties.getStreamBatchSize()),
+                    StreamOffset.create(streamKey, ReadOffset.from(offset)));
+            if (pending == null || pending.isEmpty()) {
+                return;
+            }
+            for (MapRecord<String, Object, Object> record : pending) {
+                handleRecord(consumer.getGroup(), (MapRecord<String, String, String>) (MapRecord<?, ?, ?>) record);
+            }
+            offset = pending.get(pending.size() - 1).getId().getValue();
+        }
+    }
+
+    private void handleRecord(String group, MapRecord<String, String, String> record) {
+        if (isStale(record)) {
+            redisTemplate.opsForStream().acknowledge(group, record);
+            staleRecordsDropped.increment();
+            return;
+        }
+        try {
+            dispatch(record.getValue());
+            redisTemplate.opsForStream().acknowledge(group, record);
+            recordsDispatched.increment();
+        } catch (Exception e) {
+            dispatchFailures.increment();
+            log.error("Failed to dispatch realtime stream record, leaving it pending - id={}, error={}",
+                    record.getId(), e.getMessage());
+        }
+    }
+
+    private boolean isStale(MapRecord<String, String, String> record) {
+        Long createdAt = record.getId().getTimestamp();
+        if (createdAt == null) {
+            return false;
+        }
+        RealtimeEventType type = RealtimeEventType.fromName(record.getValue().get(RealtimeTransport.FIELD_TYPE));
+        Duration maxAge = EPHEMERAL_TYPES.contains(type)
+                ? realtimeProperties.getStreamEphemeralMaxAge()
+                : realtimeProperties.getStreamRecordMaxAge();
+        return System.currentTimeMillis() - createdAt >= maxAge.toMillis();
+    }
+
+    private void refreshHeartbeat() {
+        redisTemplate.opsForValue().set(realtimeProperties.streamHeartbeatKey(realtimeProperties.getNodeId()),
+                String.valueOf(System.currentTimeMillis()), realtimeProperties.getStreamGroupIdleTimeout());
+    }
+
+    private void maintain(String streamKey, Consumer consumer) {
+        try {
+            refreshHeartbeat();
+            createGroup(streamKey, consumer.getGroup());
+            retryPending(streamKey, consumer);
+            destroyIdleGroups(streamKey, consumer.getGroup());
+        } catch (Exception e) {
+            log.error("Realtime stream maintenance failed - stream={}, error={}", streamKey, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void retryPending(String streamKey, Consumer consumer) {
+        PendingMessages pending = redisTemplate.opsForStream().pending(streamKey, consumer, Range.unbounded(),
+                realtimeProperties.getStreamBatchSize());
+        for (PendingMessage message : pending) {
+            if (message.getTotalDeliveryCount() >= MAX_DELIVERIES) {
+                redisTemplate.opsForStream().acknowledge(streamKey, consumer.getGroup(), message.getId());
+                exhaustedRecordsDropped.increment();
+                log.warn("Dropping realtime stream record after {} deliveries - id={}",
+                        message.getTotalDeliveryCount(), message.getId());
+                continue;
+            }
+            List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(streamKey,
+                    consumer.getGroup(), consumer.getName(), realtimeProperties.getStreamRetryMinIdle(), message.getId());
+            for (MapRecord<String, Object, Object> record : claimed) {
+                handleRecord(consumer.getGroup(), (MapRecord<String, String, String>) (MapRecord<?, ?, ?>) record);
+            }
+        }
+    }
+
+    private void destroyIdleGroups(String streamKey, String ownGroup) {
+        for (StreamInfo.XInfoGroup group : redisTemplate.opsForStream().groups(streamKey)) {
+            String groupName = group.groupName();
+            if (groupName.equals(ownGroup)
+                    || Boolean.TRUE.equals(redisTemplate.hasKey(realtimeProperties.streamHeartbeatKey(groupName)))) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(redisTemplate.opsForStream().destroyGroup(streamKey, groupName))) {
+                groupsDestroyed.increment();
+                log.info("Destroyed realtime stream group without heartbeat - stream={}, group={}", streamKey, groupName);
+            }
+        }
+    }
+
+    private void dispatch(Map<String, String> fields) {
+        RealtimeEventType type = RealtimeEventType.fromName(fields.get(RealtimeTransport.FIELD_TYPE));
+        String targetId = fields.get(RealtimeTransport.FIELD_TARGET);
+        String payload = fields.get(RealtimeTransport.FIELD_PAYLOAD);
+        if (type == null || targetId == null || payload == null) {
+            return;
+        }
+        dispatcher.dispatch(type, targetId, payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,201 @@
+package com.cena.chat_app.websocket;
+
+import com.cena.chat_app.cache.ConversationContextCache;
+import com.cena.chat_app.config.RealtimeProperties;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.async.BaseRedisAsyncCommands;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class RealtimeTransport {
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_TARGET = "target";
+    public static final String FIELD_PAYLOAD = "payload";
+    private static final Duration SHARDED_PUBLISH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RealtimeProperties realtimeProperties;
+    private final RedisPresenceService presenceService;
+    private final ConversationContextCache conversationContextCache;
+    private final DistributionSummary routedNodes;
+
+    public RealtimeTransport(StringRedisTemplate redisTemplate, RealtimeProperties realtimeProperties,
+                             RedisPresenceService presenceService, ConversationContextCache conversationContextCache,
+                             MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.realtimeProperties = realtimeProperties;
+        this.presenceService = presenceService;
+        this.conversationContextCache = conversationContextCache;
+        this.routedNodes = DistributionSummary.builder("chat.realtime.redis.publish.routed.nodes")
+                .register(meterRegistry);
+    }
+
+    public boolean isStreams() {
+        return realtimeProperties.isStreams();
+    }
+
+    public boolean isSharded() {
+        return realtimeProperties.isSharded();
+    }
+
+    public String getChannel() {
+        return realtimeProperties.getChannel();
+    }
+
+    public void publish(RealtimeEventType type, String targetId, String payload) {
+        if (isStreams()) {
+            redisTemplate.opsForStream().add(buildRecord(type, targetId, payload), buildAddOptions());
+        } else {
+            send(List.of(new ChannelMessage(broadcastChannel(targetId), RealtimeEnvelope.encode(type, targetId, payload))));
+        }
+    }
+
+    public void publishToUser(RealtimeEventType type, String userId, String payload) {
+        route(type, userId, payload, List.of(userId));
+    }
+
+    public void publishToConversation(RealtimeEventType type, String conversationId, String payload) {
+        if (!realtimeProperties.isPresenceRouting()) {
+            publish(type, conversationId, payload);
+            return;
+        }
+        route(type, conversationId, payload, conversationContextCache.getMemberIds(conversationId));
+    }
+
+    public void publishToUsers(RealtimeEventType type, Map<String, String> payloadsByUser) {
+        if (payloadsByUser.isEmpty()) {
+            return;
+        }
+        if (isStreams()) {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    payloadsByUser.forEach((userId, payload) ->
+                            ops.opsForStream().add(buildRecord(type, userId, payload), buildAddOptions()));
+                    return null;
+                }
+            });
+            return;
+        }
+
+        List<ChannelMessage> messages = new ArrayList<>();
+        resolveUserChannels(payloadsByUser.keySet()).forEach((userId, channels) -> {
+            String envelope = RealtimeEnvelope.encode(type, userId, payloadsByUser.get(userId));
+            channels.forEach(channel -> messages.add(new ChannelMessage(channel, envelope)));
+        });
+        send(messages);
+    }
+
+    public Map<String, Set<String>> resolveUserChannels(Collection<String> userIds) {
+        Map<String, Set<String>> channelsByUser = new LinkedHashMap<>();
+        if (!realtimeProperties.isPresenceRouting()) {
+            userIds.forEach(userId -> channelsByUser.put(userId, Set.of(broadcastChannel(userId))));
+            return channelsByUser;
+        }
+
+        presenceService.getUserNodes(userIds).forEach((userId, nodes) -> {
+            Set<String> channels = new LinkedHashSet<>();
+            nodes.forEach(node -> channels.add(realtimeProperties.nodeChannel(node)));
+            channelsByUser.put(userId, channels);
+        });
+        return channelsByUser;
+    }
+
+    private void route(RealtimeEventType type, String targetId, String payload, Collection<String> userIds) {
+        if (!realtimeProperties.isPresenceRouting()) {
+            publish(type, targetId, payload);
+            return;
+        }
+
+        Set<String> channels = new LinkedHashSet<>();
+        resolveUserChannels(userIds).values().forEach(channels::addAll);
+        routedNodes.record(channels.size());
+
+        String envelope = RealtimeEnvelope.encode(type, targetId, payload);
+        List<ChannelMessage> messages = new ArrayList<>(channels.size());
+        channels.forEach(channel -> messages.add(new ChannelMessage(channel, envelope)));
+        send(messages);
+    }
+
+    private String broadcastChannel(String targetId) {
+        return realtimeProperties.isSharded() ? realtimeProperties.partitionChannelFor(targetId) : getChannel();
+    }
+
+    private void send(List<ChannelMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        if (realtimeProperties.isSharded()) {
+            sendSharded(messages);
+            return;
+        }
+        if (messages.size() == 1) {
+            redisTemplate.convertAndSend(messages.get(0).channel(), messages.get(0).message());
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                messages.forEach(message -> ops.convertAndSend(message.channel(), message.message()));
+                return null;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sendSharded(List<ChannelMessage> messages) {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            BaseRedisAsyncCommands<byte[], byte[]> commands =
+                    (BaseRedisAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            RedisFuture<?>[] futures = new RedisFuture<?>[messages.size()];
+            for (int i = 0; i < messages.size(); i++) {
+                futures[i] = commands.spublish(messages.get(i).channel().getBytes(StandardCharsets.UTF_8),
+                        messages.get(i).message().getBytes(StandardCharsets.UTF_8));
+            }
+            if (!LettuceFutures.awaitAll(SHARDED_PUBLISH_TIMEOUT, futures)) {
+                throw new RedisCommandTimeoutException("SPUBLISH timed out after " + SHARDED_PUBLISH_TIMEOUT);
+            }
+            return null;
+        });
+    }
+
+    private MapRecord<String, String, String> buildRecord(RealtimeEventType type, String targetId, String payload) {
+        return StreamRecords.newRecord()
+                .in(realtimeProperties.getStreamKey())
+                .ofMap(Map.of(FIELD_TYPE, type.name(), FIELD_TARGET, targetId, FIELD_PAYLOAD, payload));
+    }
+
+    private RedisStreamCommands.XAddOptions buildAddOptions() {
+        return RedisStreamCommands.XAddOptions.maxlen(realtimeProperties.getStreamMaxLength())
+                .approximateTrimming(true);
+    }
+
+    private record ChannelMessage(String channel, String message) {
+    }
+}
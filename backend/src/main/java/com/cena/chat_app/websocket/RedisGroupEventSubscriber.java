@@ -1,87 +1,55 @@
 package com.cena.chat_app.websocket;
 
-import com.cena.chat_app.dto.response.GroupEventResponse;
-import com.cena.chat_app.entity.ConversationMember;
-import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.cache.ConversationContextCache;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import tools.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.connection.Message;
-import org.springframework.data.redis.connection.MessageListener;
-import org.springframework.data.redis.listener.PatternTopic;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Slf4j
 @Component
-public class RedisGroupEventSubscriber implements MessageListener {
-    private static final String CHANNEL_PATTERN = "conversation:*:group-events";
-
-    private final SimpMessagingTemplate messagingTemplate;
-    private final ObjectMapper objectMapper;
-    private final ConversationMemberRepository conversationMemberRepository;
+public class RedisGroupEventSubscriber implements RealtimeEventHandler {
+    private final RawPayloadSender rawPayloadSender;
+    private final ConversationContextCache conversationContextCache;
     private final Counter groupEventsReceived;
     private final Counter subscribeFailures;
     private final Counter subscribeTimeouts;
 
-    public RedisGroupEventSubscriber(SimpMessagingTemplate messagingTemplate,
-                                     ObjectMapper objectMapper,
-                                     ConversationMemberRepository conversationMemberRepository,
+    public RedisGroupEventSubscriber(RawPayloadSender rawPayloadSender,
+                                     ConversationContextCache conversationContextCache,
                                      MeterRegistry meterRegistry) {
-        this.messagingTemplate = messagingTemplate;
-        this.objectMapper = objectMapper;
-        this.conversationMemberRepository = conversationMemberRepository;
+        this.rawPayloadSender = rawPayloadSender;
+        this.conversationContextCache = conversationContextCache;
         this.groupEventsReceived = meterRegistry.counter("chat.realtime.redis.subscribe.success", "type", "group-event");
         this.subscribeFailures = meterRegistry.counter("chat.realtime.redis.subscribe.failures", "type", "group-event");
         this.subscribeTimeouts = meterRegistry.counter("chat.realtime.redis.subscribe.timeouts", "type", "group-event");
     }
 
     @Override
-    public void onMessage(Message message, byte[] pattern) {
-        String channel = null;
-        try {
-            channel = new String(message.getChannel());
-            String payload = new String(message.getBody());
-
-            String conversationId = extractConversationId(channel);
-            if (conversationId == null) {
-                return;
-            }
+    public RealtimeEventType getEventType() {
+        return RealtimeEventType.GROUP_EVENT;
+    }
 
-            GroupEventResponse groupEvent = objectMapper.readValue(payload, GroupEventResponse.class);
+    @Override
+    public void handle(String conversationId, byte[] payload) {
+        try {
+            conversationContextCache.invalidate(conversationId);
 
-            List<ConversationMember> members = conversationMemberRepository.findByConversationId(conversationId);
-            for (ConversationMember member : members) {
-                messagingTemplate.convertAndSendToUser(member.getUserId(), "/queue/group-events", groupEvent);
+            for (String memberId : conversationContextCache.getMemberIds(conversationId)) {
+                rawPayloadSender.sendToUser(memberId, "/queue/group-events", payload);
             }
             groupEventsReceived.increment();
         } catch (Exception e) {
             if (isTimeoutException(e)) {
                 subscribeTimeouts.increment();
-                log.error("Redis timeout processing group event - channel={}", channel);
+                log.error("Redis timeout processing group event - conversationId={}", conversationId);
             } else {
                 subscribeFailures.increment();
-                log.error("Failed to process Redis group event - channel={}, error={}", channel, e.getMessage());
+                log.error("Failed to process Redis group event - conversationId={}, error={}", conversationId, e.getMessage());
             }
         }
     }
 
-    public PatternTopic getChannelPattern() {
-        return new PatternTopic(CHANNEL_PATTERN);
-    }
-
-    private String extractConversationId(String channel) {
-        if (!channel.startsWith("conversation:") || !channel.endsWith(":group-events")) {
-            return null;
-        }
-        int start = "conversation:".length();
-        int end = channel.length() - ":group-events".length();
-        return channel.substring(start, end);
-    }
-
     private boolean isTimeoutException(Exception e) {
         String message = e.getMessage();
         Throwable cause = e.getCause();
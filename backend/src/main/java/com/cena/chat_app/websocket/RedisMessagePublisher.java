@@ -1,48 +1,48 @@
 package com.cena.chat_app.websocket;
 
 import com.cena.chat_app.dto.response.MessageResponse;
+import com.cena.chat_app.service.RedisReplayBuffer;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 public class RedisMessagePublisher {
-    private static final String CHANNEL_PREFIX = "conversation:";
-    private static final String CHANNEL_SUFFIX = ":messages";
-
-    private final StringRedisTemplate redisTemplate;
+    private final RealtimeTransport realtimeTransport;
     private final ObjectMapper objectMapper;
+    private final RedisReplayBuffer redisReplayBuffer;
     private final Counter messagesPublished;
     private final Counter publishFailures;
     private final Counter publishTimeouts;
 
-    public RedisMessagePublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
-        this.redisTemplate = redisTemplate;
+    public RedisMessagePublisher(RealtimeTransport realtimeTransport, ObjectMapper objectMapper,
+            RedisReplayBuffer redisReplayBuffer, MeterRegistry meterRegistry) {
+        this.realtimeTransport = realtimeTransport;
         this.objectMapper = objectMapper;
+        this.redisReplayBuffer = redisReplayBuffer;
         this.messagesPublished = meterRegistry.counter("chat.realtime.messages.published");
         this.publishFailures = meterRegistry.counter("chat.realtime.redis.publish.failures", "type", "message");
         this.publishTimeouts = meterRegistry.counter("chat.realtime.redis.publish.timeouts", "type", "message");
     }
 
     public void publishMessage(String conversationId, MessageResponse message) {
-        String channel = CHANNEL_PREFIX + conversationId + CHANNEL_SUFFIX;
         try {
+            message.setEventOffset(redisReplayBuffer.append(conversationId, RedisReplayBuffer.TYPE_MESSAGE, message));
             String payload = objectMapper.writeValueAsString(message);
-            redisTemplate.convertAndSend(channel, payload);
+            realtimeTransport.publish(RealtimeEventType.MESSAGE, conversationId, payload);
             messagesPublished.increment();
         } catch (Exception e) {
             if (isTimeoutException(e)) {
                 publishTimeouts.increment();
-                log.error("Redis timeout publishing message - conversationId={}, channel={}", conversationId, channel);
+                log.error("Redis timeout publishing message - conversationId={}", conversationId);
             } else {
                 publishFailures.increment();
-                log.error("Failed to publish message to Redis - conversationId={}, channel={}, error={}",
-                        conversationId, channel, e.getMessage());
+                log.error("Failed to publish message to Redis - conversationId={}, error={}",
+                        conversationId, e.getMessage());
             }
         }
     }
@@ -1,46 +1,32 @@
 package com.cena.chat_app.websocket;
 
-import com.cena.chat_app.dto.response.MessageUpdateEventResponse;
+import com.cena.chat_app.cache.ConversationContextCache;
 import com.cena.chat_app.entity.Conversation;
-import com.cena.chat_app.entity.ConversationMember;
-import com.cena.chat_app.repository.ConversationMemberRepository;
 import com.cena.chat_app.repository.ConversationRepository;
 import com.cena.chat_app.service.BlockingService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import tools.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.connection.Message;
-import org.springframework.data.redis.connection.MessageListener;
-import org.springframework.data.redis.listener.PatternTopic;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Slf4j
 @Component
-public class RedisMessageUpdateSubscriber implements MessageListener {
-    private static final String CHANNEL_PATTERN = "conversation:*:message-updates";
-
-    private final SimpMessagingTemplate messagingTemplate;
-    private final ObjectMapper objectMapper;
-    private final ConversationMemberRepository conversationMemberRepository;
+public class RedisMessageUpdateSubscriber implements RealtimeEventHandler {
+    private final RawPayloadSender rawPayloadSender;
+    private final ConversationContextCache conversationContextCache;
     private final ConversationRepository conversationRepository;
     private final BlockingService blockingService;
     private final Counter messageUpdatesReceived;
     private final Counter subscribeFailures;
     private final Counter subscribeTimeouts;
 
-    public RedisMessageUpdateSubscriber(SimpMessagingTemplate messagingTemplate,
-                                        ObjectMapper objectMapper,
-                                        ConversationMemberRepository conversationMemberRepository,
+    public RedisMessageUpdateSubscriber(RawPayloadSender rawPayloadSender,
+                                        ConversationContextCache conversationContextCache,
                                         ConversationRepository conversationRepository,
                                         BlockingService blockingService,
                                         MeterRegistry meterRegistry) {
-        this.messagingTemplate = messagingTemplate;
-        this.objectMapper = objectMapper;
-        this.conversationMemberRepository = conversationMemberRepository;
+        this.rawPayloadSender = rawPayloadSender;
+        this.conversationContextCache = conversationContextCache;
         this.conversationRepository = conversationRepository;
         this.blockingService = blockingService;
         this.messageUpdatesReceived = meterRegistry.counter("chat.realtime.redis.subscribe.success", "type", "message-update");
@@ -49,55 +35,32 @@ public class RedisMessageUpdateSubscriber implements MessageListener {
     }
 
     @Override
-    public void onMessage(Message message, byte[] pattern) {
-        String channel = null;
-        try {
-            channel = new String(message.getChannel());
-            String payload = new String(message.getBody());
-
-            String conversationId = extractConversationId(channel);
-            if (conversationId == null) {
-                return;
-            }
+    public RealtimeEventType getEventType() {
+        return RealtimeEventType.MESSAGE_UPDATE;
+    }
 
-            MessageUpdateEventResponse updateEvent = objectMapper.readValue(payload, MessageUpdateEventResponse.class);
+    @Override
+    public void handle(String conversationId, byte[] payload) {
+        try {
+            String senderId = rawPayloadSender.readTextField(payload, "senderId");
 
-            List<ConversationMember> members = conversationMemberRepository.findByConversationId(conversationId);
-            for (ConversationMember member : members) {
-                String senderId = extractSenderIdFromEvent(updateEvent);
-                if (senderId != null && !member.getUserId().equals(senderId)) {
-                    messagingTemplate.convertAndSendToUser(member.getUserId(), "/queue/message-updates", updateEvent);
+            for (String memberId : conversationContextCache.getMemberIds(conversationId)) {
+                if (senderId != null && !memberId.equals(senderId)) {
+                    rawPayloadSender.sendToUser(memberId, "/queue/message-updates", payload);
                 }
             }
             messageUpdatesReceived.increment();
         } catch (Exception e) {
             if (isTimeoutException(e)) {
                 subscribeTimeouts.increment();
-                log.error("Redis timeout processing message update event - channel={}", channel);
+                log.error("Redis timeout processing message update event - conversationId={}", conversationId);
             } else {
                 subscribeFailures.increment();
-                log.error("Failed to process Redis message update event - channel={}, error={}", channel, e.getMessage());
+                log.error("Failed to process Redis message update event - conversationId={}, error={}", conversationId, e.getMessage());
             }
         }
     }
 
-    public PatternTopic getChannelPattern() {
-        return new PatternTopic(CHANNEL_PATTERN);
-    }
-
-    private String extractConversationId(String channel) {
-        if (!channel.startsWith("conversation:") || !channel.endsWith(":message-updates")) {
-            return null;
-        }
-        int start = "conversation:".length();
-        int end = channel.length() - ":message-updates".length();
-        return channel.substring(start, end);
-    }
-
-    private String extractSenderIdFromEvent(MessageUpdateEventResponse event) {
-        return event.getSenderId();
-    }
-
     private boolean isTimeoutException(Exception e) {
         String message = e.getMessage();
         Throwable cause = e.getCause();
@@ -1,8 +1,17 @@
 package com.cena.chat_app.websocket;
 
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
@@ -10,6 +19,7 @@ public class RedisPresenceService {
     private static final String USER_SESSIONS_PREFIX = "presence:user:";
     private static final String SESSION_USER_PREFIX = "session:";
     private static final String SESSION_USER_SUFFIX = ":user";
+    private static final String USER_NODES_PREFIX = "presence:nodes:";
 
     private final StringRedisTemplate redisTemplate;
 
@@ -17,12 +27,13 @@ public class RedisPresenceService {
         this.redisTemplate = redisTemplate;
     }
 
-    public void addSession(String userId, String sessionId) {
+    public void addSession(String userId, String sessionId, String nodeId) {
         String userKey = USER_SESSIONS_PREFIX + userId;
         String sessionKey = SESSION_USER_PREFIX + sessionId + SESSION_USER_SUFFIX;
 
         redisTemplate.opsForSet().add(userKey, sessionId);
         redisTemplate.opsForValue().set(sessionKey, userId);
+        redisTemplate.opsForHash().put(USER_NODES_PREFIX + userId, sessionId, nodeId);
     }
 
     public void removeSession(String sessionId) {
@@ -32,6 +43,7 @@ public class RedisPresenceService {
         if (userId != null) {
             String userKey = USER_SESSIONS_PREFIX + userId;
             redisTemplate.opsForSet().remove(userKey, sessionId);
+            redisTemplate.opsForHash().delete(USER_NODES_PREFIX + userId, sessionId);
             redisTemplate.delete(sessionKey);
 
             Long remaining = redisTemplate.opsForSet().size(userKey);
@@ -51,6 +63,34 @@ public class RedisPresenceService {
         return redisTemplate.opsForSet().members(userKey);
     }
 
+    public Map<String, Set<String>> getUserNodes(Collection<String> userIds) {
+        List<String> users = new ArrayList<>(userIds);
+        Map<String, Set<String>> nodesByUser = new HashMap<>();
+        if (users.isEmpty()) {
+            return nodesByUser;
+        }
+
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (String userId : users) {
+                    ops.opsForHash().values(USER_NODES_PREFIX + userId);
+                }
+                return null;
+            }
+        });
+        for (int i = 0; i < users.size() && i < results.size(); i++) {
+            Set<String> nodes = new HashSet<>();
+            if (results.get(i) instanceof Collection<?> values) {
+                values.forEach(value -> nodes.add(String.valueOf(value)));
+            }
+            nodesByUser.put(users.get(i), nodes);
+        }
+        return nodesByUser;
+    }
+
     public boolean isUserConnected(String userId) {
         String userKey = USER_SESSIONS_PREFIX + userId;
         Long size = redisTemplate.opsForSet().size(userKey);
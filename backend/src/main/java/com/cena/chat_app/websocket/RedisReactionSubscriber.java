@@ -1,46 +1,32 @@
 package com.cena.chat_app.websocket;
 
-import com.cena.chat_app.dto.response.ReactionEventResponse;
+import com.cena.chat_app.cache.ConversationContextCache;
 import com.cena.chat_app.entity.Conversation;
-import com.cena.chat_app.entity.ConversationMember;
-import com.cena.chat_app.repository.ConversationMemberRepository;
 import com.cena.chat_app.repository.ConversationRepository;
 import com.cena.chat_app.service.BlockingService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import tools.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.connection.Message;
-import org.springframework.data.redis.connection.MessageListener;
-import org.springframework.data.redis.listener.PatternTopic;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Slf4j
 @Component
-public class RedisReactionSubscriber implements MessageListener {
-    private static final String CHANNEL_PATTERN = "conversation:*:reactions";
-
-    private final SimpMessagingTemplate messagingTemplate;
-    private final ObjectMapper objectMapper;
-    private final ConversationMemberRepository conversationMemberRepository;
+public class RedisReactionSubscriber implements RealtimeEventHandler {
+    private final RawPayloadSender rawPayloadSender;
+    private final ConversationContextCache conversationContextCache;
     private final ConversationRepository conversationRepository;
     private final BlockingService blockingService;
     private final Counter reactionEventsReceived;
     private final Counter subscribeFailures;
     private final Counter subscribeTimeouts;
 
-    public RedisReactionSubscriber(SimpMessagingTemplate messagingTemplate,
-                                   ObjectMapper objectMapper,
-                                   ConversationMemberRepository conversationMemberRepository,
+    public RedisReactionSubscriber(RawPayloadSender rawPayloadSender,
+                                   ConversationContextCache conversationContextCache,
                                    ConversationRepository conversationRepository,
                                    BlockingService blockingService,
                                    MeterRegistry meterRegistry) {
-        this.messagingTemplate = messagingTemplate;
-        this.objectMapper = objectMapper;
-        this.conversationMemberRepository = conversationMemberRepository;
+        this.rawPayloadSender = rawPayloadSender;
+        this.conversationContextCache = conversationContextCache;
         this.conversationRepository = conversationRepository;
         this.blockingService = blockingService;
         this.reactionEventsReceived = meterRegistry.counter("chat.realtime.redis.subscribe.success", "type", "reaction");
@@ -49,50 +35,32 @@ public class RedisReactionSubscriber implements MessageListener {
     }
 
     @Override
-    public void onMessage(Message message, byte[] pattern) {
-        String channel = null;
-        try {
-            channel = new String(message.getChannel());
-            String payload = new String(message.getBody());
-
-            String conversationId = extractConversationId(channel);
-            if (conversationId == null) {
-                return;
-            }
+    public RealtimeEventType getEventType() {
+        return RealtimeEventType.REACTION;
+    }
 
-            ReactionEventResponse reactionEvent = objectMapper.readValue(payload, ReactionEventResponse.class);
+    @Override
+    public void handle(String conversationId, byte[] payload) {
+        try {
+            String reactingUserId = rawPayloadSender.readTextField(payload, "userId");
 
-            List<ConversationMember> members = conversationMemberRepository.findByConversationId(conversationId);
-            for (ConversationMember member : members) {
-                if (!member.getUserId().equals(reactionEvent.getUserId())) {
-                    messagingTemplate.convertAndSendToUser(member.getUserId(), "/queue/reactions", reactionEvent);
+            for (String memberId : conversationContextCache.getMemberIds(conversationId)) {
+                if (!memberId.equals(reactingUserId)) {
+                    rawPayloadSender.sendToUser(memberId, "/queue/reactions", payload);
                 }
             }
             reactionEventsReceived.increment();
         } catch (Exception e) {
             if (isTimeoutException(e)) {
                 subscribeTimeouts.increment();
-                log.error("Redis timeout processing reaction event - channel={}", channel);
+                log.error("Redis timeout processing reaction event - conversationId={}", conversationId);
             } else {
                 subscribeFailures.increment();
-                log.error("Failed to process Redis reaction event - channel={}, error={}", channel, e.getMessage());
+                log.error("Failed to process Redis reaction event - conversationId={}, error={}", conversationId, e.getMessage());
             }
         }
     }
 
-    public PatternTopic getChannelPattern() {
-        return new PatternTopic(CHANNEL_PATTERN);
-    }
-
-    private String extractConversationId(String channel) {
-        if (!channel.startsWith("conversation:") || !channel.endsWith(":reactions")) {
-            return null;
-        }
-        int start = "conversation:".length();
-        int end = channel.length() - ":reactions".length();
-        return channel.substring(start, end);
-    }
-
     private boolean isTimeoutException(Exception e) {
         String message = e.getMessage();
         Throwable cause = e.getCause();
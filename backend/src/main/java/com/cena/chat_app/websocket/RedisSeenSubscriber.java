@@ -1,89 +1,57 @@
 package com.cena.chat_app.websocket;
 
-import com.cena.chat_app.dto.response.SeenEventResponse;
-import com.cena.chat_app.entity.ConversationMember;
-import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.cache.ConversationContextCache;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import tools.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.connection.Message;
-import org.springframework.data.redis.connection.MessageListener;
-import org.springframework.data.redis.listener.PatternTopic;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Slf4j
 @Component
-public class RedisSeenSubscriber implements MessageListener {
-    private static final String CHANNEL_PATTERN = "conversation:*:seen";
-
-    private final SimpMessagingTemplate messagingTemplate;
-    private final ObjectMapper objectMapper;
-    private final ConversationMemberRepository conversationMemberRepository;
+public class RedisSeenSubscriber implements RealtimeEventHandler {
+    private final RawPayloadSender rawPayloadSender;
+    private final ConversationContextCache conversationContextCache;
     private final Counter seenEventsReceived;
     private final Counter subscribeFailures;
     private final Counter subscribeTimeouts;
 
-    public RedisSeenSubscriber(SimpMessagingTemplate messagingTemplate,
-                              ObjectMapper objectMapper,
-                              ConversationMemberRepository conversationMemberRepository,
+    public RedisSeenSubscriber(RawPayloadSender rawPayloadSender,
+                              ConversationContextCache conversationContextCache,
                               MeterRegistry meterRegistry) {
-        this.messagingTemplate = messagingTemplate;
-        this.objectMapper = objectMapper;
-        this.conversationMemberRepository = conversationMemberRepository;
+        this.rawPayloadSender = rawPayloadSender;
+        this.conversationContextCache = conversationContextCache;
         this.seenEventsReceived = meterRegistry.counter("chat.realtime.redis.subscribe.success", "type", "seen");
         this.subscribeFailures = meterRegistry.counter("chat.realtime.redis.subscribe.failures", "type", "seen");
         this.subscribeTimeouts = meterRegistry.counter("chat.realtime.redis.subscribe.timeouts", "type", "seen");
     }
 
     @Override
-    public void onMessage(Message message, byte[] pattern) {
-        String channel = null;
-        try {
-            channel = new String(message.getChannel());
-            String payload = new String(message.getBody());
-
-            String conversationId = extractConversationId(channel);
-            if (conversationId == null) {
-                return;
-            }
+    public RealtimeEventType getEventType() {
+        return RealtimeEventType.SEEN;
+    }
 
-            SeenEventResponse seenEvent = objectMapper.readValue(payload, SeenEventResponse.class);
+    @Override
+    public void handle(String conversationId, byte[] payload) {
+        try {
+            String seenUserId = rawPayloadSender.readTextField(payload, "userId");
 
-            List<ConversationMember> members = conversationMemberRepository.findByConversationId(conversationId);
-            for (ConversationMember member : members) {
-                if (!member.getUserId().equals(seenEvent.getUserId())) {
-                    messagingTemplate.convertAndSendToUser(member.getUserId(), "/queue/seen", seenEvent);
+            for (String memberId : conversationContextCache.getMemberIds(conversationId)) {
+                if (!memberId.equals(seenUserId)) {
+                    rawPayloadSender.sendToUser(memberId, "/queue/seen", payload);
                 }
             }
             seenEventsReceived.increment();
         } catch (Exception e) {
             if (isTimeoutException(e)) {
                 subscribeTimeouts.increment();
-                log.error("Redis timeout processing seen event - channel={}", channel);
+                log.error("Redis timeout processing seen event - conversationId={}", conversationId);
             } else {
                 subscribeFailures.increment();
-                log.error("Failed to process Redis seen event - channel={}, error={}", channel, e.getMessage());
+                log.error("Failed to process Redis seen event - conversationId={}, error={}", conversationId, e.getMessage());
             }
         }
     }
 
-    public PatternTopic getChannelPattern() {
-        return new PatternTopic(CHANNEL_PATTERN);
-    }
-
-    private String extractConversationId(String channel) {
-        if (!channel.startsWith("conversation:") || !channel.endsWith(":seen")) {
-            return null;
-        }
-        int start = "conversation:".length();
-        int end = channel.length() - ":seen".length();
-        return channel.substring(start, end);
-    }
-
     private boolean isTimeoutException(Exception e) {
         String message = e.getMessage();
         Throwable cause = e.getCause();
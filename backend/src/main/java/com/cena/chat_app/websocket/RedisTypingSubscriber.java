@@ -1,89 +1,64 @@
 package com.cena.chat_app.websocket;
 
-import com.cena.chat_app.dto.response.TypingEventResponse;
-import com.cena.chat_app.entity.ConversationMember;
-import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.cache.ConversationContextCache;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import tools.jackson.databind.ObjectMapper;
-import org.springframework.data.redis.connection.Message;
-import org.springframework.data.redis.connection.MessageListener;
-import org.springframework.data.redis.listener.PatternTopic;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 @Slf4j
 @Component
-public class RedisTypingSubscriber implements MessageListener {
-    private static final String CHANNEL_PATTERN = "conversation:*:typing";
-
-    private final SimpMessagingTemplate messagingTemplate;
-    private final ObjectMapper objectMapper;
-    private final ConversationMemberRepository conversationMemberRepository;
+public class RedisTypingSubscriber implements RealtimeEventHandler {
+    private final RawPayloadSender rawPayloadSender;
+    private final ConversationContextCache conversationContextCache;
     private final Counter typingEventsReceived;
     private final Counter subscribeFailures;
     private final Counter subscribeTimeouts;
 
-    public RedisTypingSubscriber(SimpMessagingTemplate messagingTemplate,
-                                ObjectMapper objectMapper,
-                                ConversationMemberRepository conversationMemberRepository,
+    public RedisTypingSubscriber(RawPayloadSender rawPayloadSender,
+                                ConversationContextCache conversationContextCache,
                                 MeterRegistry meterRegistry) {
-        this.messagingTemplate = messagingTemplate;
-        this.objectMapper = objectMapper;
-        this.conversationMemberRepository = conversationMemberRepository;
+        this.rawPayloadSender = rawPayloadSender;
+        this.conversationContextCache = conversationContextCache;
         this.typingEventsReceived = meterRegistry.counter("chat.realtime.redis.subscribe.success", "type", "typing");
         this.subscribeFailures = meterRegistry.counter("chat.realtime.redis.subscribe.failures", "type", "typing");
         this.subscribeTimeouts = meterRegistry.counter("chat.realtime.redis.subscribe.timeouts", "type", "typing");
     }
 
     @Override
-    public void onMessage(Message message, byte[] pattern) {
-        String channel = null;
-        try {
-            channel = new String(message.getChannel());
-            String payload = new String(message.getBody());
+    public RealtimeEventType getEventType() {
+        return RealtimeEventType.TYPING;
+    }
 
-            String conversationId = extractConversationId(channel);
-            if (conversationId == null) {
-                return;
+    @Override
+    public void handle(String conversationId, byte[] payload) {
+        try {
+            Set<String> excludedUserIds = new HashSet<>(rawPayloadSender.readTextArrayField(payload, "excludedUserIds"));
+            String typingUserId = rawPayloadSender.readTextField(payload, "userId");
+            if (typingUserId != null) {
+                excludedUserIds.add(typingUserId);
             }
 
-            TypingEventResponse typingEvent = objectMapper.readValue(payload, TypingEventResponse.class);
-
-            List<ConversationMember> members = conversationMemberRepository.findByConversationId(conversationId);
-            for (ConversationMember member : members) {
-                if (!member.getUserId().equals(typingEvent.getUserId())) {
-                    messagingTemplate.convertAndSendToUser(member.getUserId(), "/queue/typing", typingEvent);
+            for (String memberId : conversationContextCache.getMemberIds(conversationId)) {
+                if (!excludedUserIds.contains(memberId)) {
+                    rawPayloadSender.sendToUser(memberId, "/queue/typing", payload);
                 }
             }
             typingEventsReceived.increment();
         } catch (Exception e) {
             if (isTimeoutException(e)) {
                 subscribeTimeouts.increment();
-                log.error("Redis timeout processing typing event - channel={}", channel);
+                log.error("Redis timeout processing typing event - conversationId={}", conversationId);
             } else {
                 subscribeFailures.increment();
-                log.error("Failed to process Redis typing event - channel={}, error={}", channel, e.getMessage());
+                log.error("Failed to process Redis typing event - conversationId={}, error={}", conversationId, e.getMessage());
             }
         }
     }
 
-    public PatternTopic getChannelPattern() {
-        return new PatternTopic(CHANNEL_PATTERN);
-    }
-
-    private String extractConversationId(String channel) {
-        if (!channel.startsWith("conversation:") || !channel.endsWith(":typing")) {
-            return null;
-        }
-        int start = "conversation:".length();
-        int end = channel.length() - ":typing".length();
-        return channel.substring(start, end);
-    }
-
     private boolean isTimeoutException(Exception e) {
         String message = e.getMessage();
         Throwable cause = e.getCause();
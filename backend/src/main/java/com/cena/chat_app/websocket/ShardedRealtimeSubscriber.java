@@ -0,0 +1,167 @@
+package com.cena.chat_app.websocket;
+
+import com.cena.chat_app.config.RealtimeProperties;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.cluster.pubsub.RedisClusterPubSubAdapter;
+import io.lettuce.core.cluster.pubsub.StatefulRedisClusterPubSubConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Component
+public class ShardedRealtimeSubscriber implements SmartLifecycle {
+    private final RedisConnectionFactory connectionFactory;
+    private final RealtimeProperties realtimeProperties;
+    private final RealtimeEventDispatcher dispatcher;
+    private final Counter messagesReceived;
+    private final Counter resubscribes;
+
+    private StatefulRedisPubSubConnection<byte[], byte[]> connection;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public ShardedRealtimeSubscriber(RedisConnectionFactory connectionFactory,
+                                     RealtimeProperties realtimeProperties,
+                                     RealtimeEventDispatcher dispatcher,
+                                     MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.realtimeProperties = realtimeProperties;
+        this.dispatcher = dispatcher;
+        this.messagesReceived = meterRegistry.counter("chat.realtime.redis.sharded.received");
+        this.resubscribes = meterRegistry.counter("chat.realtime.redis.sharded.resubscribes");
+    }
+
+    @Override
+    public void start() {
+        if (!realtimeProperties.isSharded() || running) {
+            return;
+        }
+        if (!(connectionFactory instanceof LettuceConnectionFactory lettuceFactory)) {
+            throw new IllegalStateException("Sharded realtime transport requires the Lettuce Redis client");
+        }
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        AbstractRedisClient client = lettuceFactory.getRequiredNativeClient();
+        if (client instanceof RedisClusterClient clusterClient) {
+            connection = connectCluster(clusterClient);
+        } else {
+            connection = connectStandalone((RedisClient) client);
+        }
+        running = true;
+        log.info("Sharded realtime subscriber started - channels={}, cluster={}",
+                subscribedChannels().size(), client instanceof RedisClusterClient);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private StatefulRedisPubSubConnection<byte[], byte[]> connectStandalone(RedisClient client) {
+        StatefulRedisPubSubConnection<byte[], byte[]> pubSub = client.connectPubSub(ByteArrayCodec.INSTANCE);
+        pubSub.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void smessage(byte[] channel, byte[] message) {
+                handle(channel, message);
+            }
+        });
+        pubSub.sync().ssubscribe(toBytes(subscribedChannels()));
+        return pubSub;
+    }
+
+    private StatefulRedisPubSubConnection<byte[], byte[]> connectCluster(RedisClusterClient client) {
+        StatefulRedisClusterPubSubConnection<byte[], byte[]> pubSub = client.connectPubSub(ByteArrayCodec.INSTANCE);
+        pubSub.setNodeMessagePropagation(true);
+        pubSub.addListener(new RedisClusterPubSubAdapter<>() {
+            @Override
+            public void smessage(RedisClusterNode node, byte[] channel, byte[] message) {
+                handle(channel, message);
+            }
+
+            @Override
+            public void sunsubscribed(RedisClusterNode node, byte[] channel, long count) {
+                if (running) {
+                    executor.execute(() -> resubscribe(client, pubSub, channel));
+                }
+            }
+        });
+
+        Map<String, List<String>> channelsByNode = new HashMap<>();
+        for (String channel : subscribedChannels()) {
+            RedisClusterNode owner = client.getPartitions().getMasterBySlot(SlotHash.getSlot(channel));
+            channelsByNode.computeIfAbsent(owner.getNodeId(), id -> new ArrayList<>()).add(channel);
+        }
+        channelsByNode.forEach((nodeId, channels) ->
+                pubSub.getConnection(nodeId).sync().ssubscribe(toBytes(channels)));
+        return pubSub;
+    }
+
+    private void resubscribe(RedisClusterClient client, StatefulRedisClusterPubSubConnection<byte[], byte[]> pubSub,
+                             byte[] channel) {
+        try {
+            client.refreshPartitions();
+            RedisClusterNode owner = client.getPartitions().getMasterBySlot(SlotHash.getSlot(channel));
+            pubSub.getConnection(owner.getNodeId()).sync().ssubscribe(channel);
+            resubscribes.increment();
+            log.info("Resubscribed sharded channel after slot move - channel={}, node={}",
+                    new String(channel, StandardCharsets.UTF_8), owner.getNodeId());
+        } catch (Exception e) {
+            log.error("Failed to resubscribe sharded channel - channel={}, error={}",
+                    new String(channel, StandardCharsets.UTF_8), e.getMessage());
+        }
+    }
+
+    private void handle(byte[] channel, byte[] message) {
+        messagesReceived.increment();
+        executor.execute(() -> dispatcher.dispatch(new String(channel, StandardCharsets.UTF_8), message));
+    }
+
+    private List<String> subscribedChannels() {
+        List<String> channels = new ArrayList<>();
+        for (int partition = 0; partition < realtimeProperties.getShardedPartitions(); partition++) {
+            channels.add(realtimeProperties.partitionChannel(partition));
+        }
+        channels.add(realtimeProperties.getNodeChannel());
+        return channels;
+    }
+
+    private byte[][] toBytes(List<String> channels) {
+        byte[][] result = new byte[channels.size()][];
+        for (int i = 0; i < channels.size(); i++) {
+            result[i] = channels.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        return result;
+    }
+}
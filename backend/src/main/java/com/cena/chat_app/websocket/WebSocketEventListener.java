@@ -1,5 +1,6 @@
 package com.cena.chat_app.websocket;
 
+import com.cena.chat_app.config.RealtimeProperties;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
@@ -15,12 +16,15 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Component
 public class WebSocketEventListener {
     private final RedisPresenceService presenceService;
+    private final RealtimeProperties realtimeProperties;
     private final AtomicInteger activeConnections;
     private final Counter connectionsTotal;
     private final Counter disconnectionsTotal;
 
-    public WebSocketEventListener(RedisPresenceService presenceService, MeterRegistry meterRegistry) {
+    public WebSocketEventListener(RedisPresenceService presenceService, RealtimeProperties realtimeProperties,
+                                  MeterRegistry meterRegistry) {
         this.presenceService = presenceService;
+        this.realtimeProperties = realtimeProperties;
         this.activeConnections = meterRegistry.gauge("chat.realtime.websocket.connections.active",
                 new AtomicInteger(0));
         this.connectionsTotal = meterRegistry.counter("chat.realtime.websocket.connections.total");
@@ -35,7 +39,7 @@ public class WebSocketEventListener {
         if (headerAccessor.getSessionAttributes() != null) {
             String userId = (String) headerAccessor.getSessionAttributes().get("userId");
             if (userId != null && sessionId != null) {
-                presenceService.addSession(userId, sessionId);
+                presenceService.addSession(userId, sessionId, realtimeProperties.getNodeId());
                 activeConnections.incrementAndGet();
                 connectionsTotal.increment();
                 log.info("WebSocket connection established - userId={}, sessionId={}", userId, sessionId);
@@ -22,6 +22,8 @@ import java.util.Map;
 @Slf4j
 @Component
 public class WebSocketRateLimitInterceptor implements ChannelInterceptor {
+    public static final String RATE_LIMITED_HEADER = "rateLimited";
+
     private static final int CONNECT_MAX_PER_MINUTE = 10;
     private static final int SEND_MESSAGE_MAX_PER_MINUTE = 60;
     private static final int TYPING_MAX_PER_MINUTE = 30;
@@ -59,6 +61,9 @@ public class WebSocketRateLimitInterceptor implements ChannelInterceptor {
                     log.warn("WebSocket rate limit exceeded - userId={}, action={}, command={}",
                             userId, result.action, accessor.getCommand());
 
+                    if (result.receipted) {
+                        return markRateLimited(message);
+                    }
                     return createErrorMessage(accessor, "Rate limit exceeded for " + result.action);
                 }
             }
@@ -72,19 +77,21 @@ public class WebSocketRateLimitInterceptor implements ChannelInterceptor {
 
         if (StompCommand.CONNECT.equals(command)) {
             boolean allowed = rateLimitService.allowRequest(userId, "ws_connect", CONNECT_MAX_PER_MINUTE, WINDOW);
-            return new RateLimitResult("ws_connect", allowed, "connect");
+            return new RateLimitResult("ws_connect", allowed, "connect", false);
         } else if (StompCommand.SEND.equals(command)) {
             String destination = accessor.getDestination();
             if (destination != null) {
-                if (destination.startsWith("/app/chat.sendMessage")) {
+                if (destination.startsWith("/app/chat.sendMessage")
+                        || destination.startsWith("/app/chat.editMessage")
+                        || destination.startsWith("/app/chat.deleteMessage")) {
                     boolean allowed = rateLimitService.allowRequest(userId, "ws_send_message", SEND_MESSAGE_MAX_PER_MINUTE, WINDOW);
-                    return new RateLimitResult("ws_send_message", allowed, "send");
+                    return new RateLimitResult("ws_send_message", allowed, "send", true);
                 } else if (destination.startsWith("/app/chat.typing")) {
                     boolean allowed = rateLimitService.allowRequest(userId, "ws_typing", TYPING_MAX_PER_MINUTE, WINDOW);
-                    return new RateLimitResult("ws_typing", allowed, "typing");
+                    return new RateLimitResult("ws_typing", allowed, "typing", false);
                 } else if (destination.startsWith("/app/chat.reaction")) {
                     boolean allowed = rateLimitService.allowRequest(userId, "ws_reaction", REACTION_MAX_PER_MINUTE, WINDOW);
-                    return new RateLimitResult("ws_reaction", allowed, "reaction");
+                    return new RateLimitResult("ws_reaction", allowed, "reaction", true);
                 }
             }
         }
@@ -108,6 +115,12 @@ public class WebSocketRateLimitInterceptor implements ChannelInterceptor {
         return null;
     }
 
+    private Message<?> markRateLimited(Message<?> message) {
+        StompHeaderAccessor limitedAccessor = StompHeaderAccessor.wrap(message);
+        limitedAccessor.setHeader(RATE_LIMITED_HEADER, true);
+        return MessageBuilder.createMessage(message.getPayload(), limitedAccessor.getMessageHeaders());
+    }
+
     private Message<?> createErrorMessage(StompHeaderAccessor originalAccessor, String errorMessage) {
         StompHeaderAccessor errorAccessor = StompHeaderAccessor.create(StompCommand.ERROR);
         errorAccessor.setSessionId(originalAccessor.getSessionId());
@@ -121,11 +134,13 @@ public class WebSocketRateLimitInterceptor implements ChannelInterceptor {
         String action;
         boolean allowed;
         String metricAction;
+        boolean receipted;
 
-        RateLimitResult(String action, boolean allowed, String metricAction) {
+        RateLimitResult(String action, boolean allowed, String metricAction, boolean receipted) {
             this.action = action;
             this.allowed = allowed;
             this.metricAction = metricAction;
+            this.receipted = receipted;
         }
     }
 }
@@ -345,6 +345,46 @@ class BlockingTest {
         assertFalse(members.stream().anyMatch(m -> m.getUserId().equals(user2.getId())));
     }
 
+    @Test
+    void testBlockAppliesAfterCachedBlockCheck() throws Exception {
+        Conversation conversation = Conversation.builder()
+                .type("DIRECT")
+                .ownerId(null)
+                .createdAt(Instant.now())
+                .lastMessageAt(Instant.now())
+                .build();
+        conversation = conversationRepository.save(conversation);
+
+        for (User member : List.of(user1, user2)) {
+            conversationMemberRepository.save(ConversationMember.builder()
+                    .conversationId(conversation.getId())
+                    .userId(member.getId())
+                    .role("MEMBER")
+                    .canSendMessage(true)
+                    .joinedAt(Instant.now())
+                    .unreadCount(0L)
+                    .build());
+        }
+
+        SendMessageRequest messageRequest = SendMessageRequest.builder()
+                .conversationId(conversation.getId())
+                .content("Before block")
+                .build();
+
+        String firstResponse = sendPostRequest("/api/messages", objectMapper.writeValueAsString(messageRequest), token1);
+        assertEquals("success", objectMapper.readTree(firstResponse).get("status").asText());
+
+        BlockUserRequest blockRequest = new BlockUserRequest();
+        blockRequest.setUserId(user1.getId());
+        sendPostRequest("/api/blocking/block", objectMapper.writeValueAsString(blockRequest), token2);
+
+        String secondResponse = sendPostRequest("/api/messages", objectMapper.writeValueAsString(messageRequest), token1);
+        JsonNode jsonResponse = objectMapper.readTree(secondResponse);
+
+        assertEquals("error", jsonResponse.get("status").asText());
+        assertEquals("USER_BLOCKED", jsonResponse.get("code").asText());
+    }
+
 
     private String sendPostRequest(String endpoint, String body, String token) throws Exception {
         HttpClient client = HttpClient.newHttpClient();
@@ -0,0 +1,242 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.dto.ApiResponse;
+import com.cena.chat_app.dto.response.ConversationResponse;
+import com.cena.chat_app.entity.Conversation;
+import com.cena.chat_app.entity.ConversationMember;
+import com.cena.chat_app.entity.Message;
+import com.cena.chat_app.entity.User;
+import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.repository.ConversationRepository;
+import com.cena.chat_app.repository.MessageRepository;
+import com.cena.chat_app.repository.UserRepository;
+import com.cena.chat_app.service.ConversationService;
+import com.cena.chat_app.service.RedisInboxService;
+import com.cena.chat_app.service.RedisUnreadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class ConversationInboxQueryTest {
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private ConversationRepository conversationRepository;
+
+    @MockitoSpyBean
+    private ConversationMemberRepository conversationMemberRepository;
+
+    @Autowired
+    private ConversationService conversationService;
+
+    @Autowired
+    private RedisInboxService redisInboxService;
+
+    @Autowired
+    private RedisUnreadService redisUnreadService;
+
+    @MockitoSpyBean
+    private MessageRepository messageRepository;
+
+    private User owner;
+    private final List<User> peers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(buildUser("owner"));
+        for (int i = 0; i < 5; i++) {
+            peers.add(userRepository.save(buildUser("peer" + i)));
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(owner.getId(), null, Collections.emptyList())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        messageRepository.deleteAll();
+        conversationMemberRepository.deleteAll();
+        conversationRepository.deleteAll();
+        userRepository.deleteAll();
+        peers.clear();
+    }
+
+    @Test
+    void testInboxUsesBatchedQueries() {
+        createGroups(10);
+        conversationService.getConversations();
+        Mockito.clearInvocations(userRepository, conversationRepository, conversationMemberRepository);
+
+        ApiResponse<List<ConversationResponse>> response = conversationService.getConversations();
+
+        assertEquals(10, response.getData().size());
+        assertEquals(peers.size() + 1, response.getData().get(0).getMembers().size());
+        assertNotNull(response.getData().get(0).getMembers().get(0).getUsername());
+
+        verify(conversationMemberRepository, never()).findByUserId(anyString());
+        verify(conversationRepository, times(1)).findAllById(any());
+        verify(conversationMemberRepository, times(1)).findByConversationIdIn(any());
+        verify(conversationMemberRepository, never()).findByConversationId(anyString());
+        verify(userRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void testInboxQueryCountIsConstantInConversationCount() {
+        createGroups(3);
+        redisInboxService.invalidate(owner.getId());
+        Mockito.clearInvocations(userRepository, conversationRepository, conversationMemberRepository);
+        conversationService.getConversations();
+        int smallInboxQueries = countInvocations();
+
+        createGroups(60);
+        redisInboxService.invalidate(owner.getId());
+        Mockito.clearInvocations(userRepository, conversationRepository, conversationMemberRepository);
+        long start = System.nanoTime();
+        ApiResponse<List<ConversationResponse>> response = conversationService.getConversations();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        int largeInboxQueries = countInvocations();
+
+        assertEquals(63, response.getData().size());
+        assertEquals(smallInboxQueries, largeInboxQueries,
+                "Inbox query count should not grow with conversations (took " + elapsedMillis + " ms)");
+    }
+
+    @Test
+    void testInboxPagesByLastActivity() {
+        List<Conversation> groups = createGroups(5);
+        conversationService.getConversations();
+        redisInboxService.touch(groups.get(2).getId(), List.of(owner.getId()), Instant.now().plusSeconds(60));
+
+        List<ConversationResponse> firstPage = conversationService.getConversations(0, 2).getData();
+        List<ConversationResponse> secondPage = conversationService.getConversations(1, 2).getData();
+        List<ConversationResponse> lastPage = conversationService.getConversations(2, 2).getData();
+
+        assertEquals(2, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertEquals(1, lastPage.size());
+        assertEquals(groups.get(2).getId(), firstPage.get(0).getId());
+        assertEquals(groups.get(4).getId(), firstPage.get(1).getId());
+        assertTrue(conversationService.getConversations(3, 2).getData().isEmpty());
+    }
+
+    @Test
+    void testInboxIndexFollowsNewActivity() {
+        List<Conversation> groups = createGroups(3);
+        conversationService.getConversations();
+
+        redisInboxService.touch(groups.get(0).getId(), List.of(owner.getId()), Instant.now().plusSeconds(60));
+
+        assertEquals(groups.get(0).getId(), conversationService.getConversations(0, 1).getData().get(0).getId());
+    }
+
+    @Test
+    void testInboxIncludesLastMessageAndUnreadCount() {
+        List<Conversation> groups = createGroups(3);
+        for (Conversation group : groups) {
+            Message message = messageRepository.save(Message.builder()
+                    .conversationId(group.getId())
+                    .senderId(peers.get(0).getId())
+                    .type("TEXT")
+                    .content("Latest in " + group.getName())
+                    .isDeleted(false)
+                    .createdAt(group.getLastMessageAt())
+                    .updatedAt(group.getLastMessageAt())
+                    .build());
+            conversationRepository.updateLastMessage(group.getId(), message.getId(), message.getCreatedAt());
+        }
+        redisUnreadService.incrementUnreadCount(owner.getId(), groups.get(1).getId());
+        redisUnreadService.incrementUnreadCount(owner.getId(), groups.get(1).getId());
+        Mockito.clearInvocations(messageRepository);
+
+        List<ConversationResponse> inbox = conversationService.getConversations().getData();
+
+        verify(messageRepository, times(1)).findAllById(any());
+        for (ConversationResponse conversation : inbox) {
+            assertNotNull(conversation.getLastMessage());
+            assertEquals("Latest in " + conversation.getName(), conversation.getLastMessage().getContent());
+            assertEquals(peers.get(0).getUsername(), conversation.getLastMessage().getSenderUsername());
+            long expectedUnread = conversation.getId().equals(groups.get(1).getId()) ? 2L : 0L;
+            assertEquals(expectedUnread, conversation.getUnreadCount());
+        }
+    }
+
+    private int countInvocations() {
+        return Mockito.mockingDetails(userRepository).getInvocations().size()
+                + Mockito.mockingDetails(conversationRepository).getInvocations().size()
+                + Mockito.mockingDetails(conversationMemberRepository).getInvocations().size();
+    }
+
+    private List<Conversation> createGroups(int count) {
+        List<Conversation> groups = new ArrayList<>();
+        Instant base = Instant.now();
+        for (int i = 0; i < count; i++) {
+            Conversation conversation = conversationRepository.save(Conversation.builder()
+                    .type("GROUP")
+                    .name("Group " + i)
+                    .ownerId(owner.getId())
+                    .lastMessageAt(base.plusMillis(i))
+                    .createdAt(base)
+                    .build());
+            groups.add(conversation);
+
+            List<ConversationMember> members = new ArrayList<>();
+            members.add(buildMember(conversation.getId(), owner.getId(), "OWNER"));
+            for (User peer : peers) {
+                members.add(buildMember(conversation.getId(), peer.getId(), "MEMBER"));
+            }
+            conversationMemberRepository.saveAll(members);
+        }
+        return groups;
+    }
+
+    private ConversationMember buildMember(String conversationId, String userId, String role) {
+        return ConversationMember.builder()
+                .conversationId(conversationId)
+                .userId(userId)
+                .role(role)
+                .canSendMessage(true)
+                .joinedAt(Instant.now())
+                .unreadCount(0L)
+                .build();
+    }
+
+    private User buildUser(String username) {
+        return User.builder()
+                .username(username)
+                .passwordHash("hash")
+                .displayName(username)
+                .status("ACTIVE")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+    }
+}
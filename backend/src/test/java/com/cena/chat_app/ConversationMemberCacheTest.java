@@ -0,0 +1,140 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.dto.response.GroupEventResponse;
+import com.cena.chat_app.dto.response.TypingEventResponse;
+import com.cena.chat_app.entity.Conversation;
+import com.cena.chat_app.entity.ConversationMember;
+import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.repository.ConversationRepository;
+import com.cena.chat_app.websocket.RealtimeEventDispatcher;
+import com.cena.chat_app.websocket.RealtimeEventType;
+import com.cena.chat_app.websocket.RedisGroupEventSubscriber;
+import com.cena.chat_app.websocket.RedisTypingSubscriber;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class ConversationMemberCacheTest {
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @MockitoSpyBean
+    private ConversationMemberRepository conversationMemberRepository;
+
+    @Autowired
+    private RedisTypingSubscriber redisTypingSubscriber;
+
+    @Autowired
+    private RedisGroupEventSubscriber redisGroupEventSubscriber;
+
+    @Autowired
+    private RealtimeEventDispatcher realtimeEventDispatcher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Conversation conversation;
+
+    @BeforeEach
+    void setUp() {
+        conversation = conversationRepository.save(Conversation.builder()
+                .type("GROUP")
+                .name("Cache Group")
+                .ownerId("owner")
+                .createdAt(Instant.now())
+                .build());
+        saveMember("owner", "OWNER");
+        saveMember("member", "MEMBER");
+        Mockito.clearInvocations(conversationMemberRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        conversationMemberRepository.deleteAll();
+        conversationRepository.deleteAll();
+    }
+
+    @Test
+    void testTypingBurstReadsMembersOnce() {
+        double hitsBefore = counter("hit");
+
+        for (int i = 0; i < 20; i++) {
+            redisTypingSubscriber.handle(conversation.getId(), typingPayload("owner"));
+        }
+
+        verify(conversationMemberRepository, times(1)).findByConversationId(conversation.getId());
+        assertTrue(counter("hit") - hitsBefore >= 19);
+    }
+
+    @Test
+    void testGroupEventReloadsMembers() {
+        redisTypingSubscriber.handle(conversation.getId(), typingPayload("owner"));
+        redisTypingSubscriber.handle(conversation.getId(), typingPayload("owner"));
+        verify(conversationMemberRepository, times(1)).findByConversationId(conversation.getId());
+
+        GroupEventResponse event = GroupEventResponse.builder()
+                .conversationId(conversation.getId())
+                .eventType("MEMBER_LEFT")
+                .build();
+        redisGroupEventSubscriber.handle(conversation.getId(), objectMapper.writeValueAsBytes(event));
+
+        verify(conversationMemberRepository, times(2)).findByConversationId(conversation.getId());
+    }
+
+    @Test
+    void testConversationInvalidationReloadsMembers() {
+        redisTypingSubscriber.handle(conversation.getId(), typingPayload("owner"));
+        verify(conversationMemberRepository, times(1)).findByConversationId(conversation.getId());
+
+        realtimeEventDispatcher.dispatch(RealtimeEventType.CONVERSATION_INVALIDATE, conversation.getId(), new byte[0]);
+        redisTypingSubscriber.handle(conversation.getId(), typingPayload("owner"));
+
+        verify(conversationMemberRepository, times(2)).findByConversationId(conversation.getId());
+    }
+
+    private byte[] typingPayload(String userId) {
+        TypingEventResponse event = TypingEventResponse.builder()
+                .conversationId(conversation.getId())
+                .userId(userId)
+                .isTyping(true)
+                .build();
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.counter("chat.cache.requests", "cache", "conversation-context", "result", result).count();
+    }
+
+    private void saveMember(String userId, String role) {
+        conversationMemberRepository.save(ConversationMember.builder()
+                .conversationId(conversation.getId())
+                .userId(userId)
+                .role(role)
+                .canSendMessage(true)
+                .joinedAt(Instant.now())
+                .build());
+    }
+}
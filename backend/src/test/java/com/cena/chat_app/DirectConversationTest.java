@@ -0,0 +1,164 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.dto.ApiResponse;
+import com.cena.chat_app.dto.request.CreateDirectConversationRequest;
+import com.cena.chat_app.dto.response.ConversationResponse;
+import com.cena.chat_app.entity.Conversation;
+import com.cena.chat_app.entity.User;
+import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.repository.ConversationRepository;
+import com.cena.chat_app.repository.UserRepository;
+import com.cena.chat_app.service.ConversationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class DirectConversationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ConversationMemberRepository conversationMemberRepository;
+
+    @Autowired
+    private ConversationService conversationService;
+
+    private User user1;
+    private User user2;
+
+    @BeforeEach
+    void setUp() {
+        user1 = userRepository.save(buildUser("user1"));
+        user2 = userRepository.save(buildUser("user2"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        conversationMemberRepository.deleteAll();
+        conversationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testDirectConversationIsReusedFromEitherSide() {
+        ApiResponse<ConversationResponse> first = createAs(user1, user2);
+        ApiResponse<ConversationResponse> second = createAs(user2, user1);
+
+        assertEquals("success", first.getStatus());
+        assertEquals("Conversation already exists", second.getMessage());
+        assertEquals(first.getData().getId(), second.getData().getId());
+
+        Conversation stored = conversationRepository.findById(first.getData().getId()).orElseThrow();
+        assertEquals(Conversation.directKeyOf(user1.getId(), user2.getId()), stored.getDirectKey());
+    }
+
+    @Test
+    void testConcurrentCreationProducesSingleConversation() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ApiResponse<ConversationResponse>>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            User caller = i % 2 == 0 ? user1 : user2;
+            User target = i % 2 == 0 ? user2 : user1;
+            Callable<ApiResponse<ConversationResponse>> task = () -> {
+                start.await();
+                try {
+                    return createAs(caller, target);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            };
+            futures.add(executor.submit(task));
+        }
+
+        start.countDown();
+        Set<String> conversationIds = new HashSet<>();
+        for (Future<ApiResponse<ConversationResponse>> future : futures) {
+            ApiResponse<ConversationResponse> response = future.get(10, TimeUnit.SECONDS);
+            assertEquals("success", response.getStatus());
+            conversationIds.add(response.getData().getId());
+        }
+        executor.shutdown();
+
+        assertEquals(1, conversationIds.size());
+        List<Conversation> directConversations = conversationRepository.findAll().stream()
+                .filter(c -> "DIRECT".equals(c.getType()))
+                .collect(Collectors.toList());
+        assertEquals(1, directConversations.size());
+        assertEquals(2, conversationMemberRepository.findByConversationId(directConversations.get(0).getId()).size());
+    }
+
+    @Test
+    void testExistingConversationWithoutMembersIsRepaired() {
+        Conversation orphan = conversationRepository.save(Conversation.builder()
+                .type("DIRECT")
+                .directKey(Conversation.directKeyOf(user1.getId(), user2.getId()))
+                .lastMessageAt(Instant.now())
+                .createdAt(Instant.now())
+                .build());
+
+        ApiResponse<ConversationResponse> response = createAs(user2, user1);
+        createAs(user1, user2);
+
+        assertEquals("Conversation already exists", response.getMessage());
+        assertEquals(orphan.getId(), response.getData().getId());
+        assertTrue(conversationMemberRepository.findByConversationIdAndUserId(orphan.getId(), user1.getId()).isPresent());
+        assertTrue(conversationMemberRepository.findByConversationIdAndUserId(orphan.getId(), user2.getId()).isPresent());
+        assertEquals(2, conversationMemberRepository.findByConversationId(orphan.getId()).size());
+    }
+
+    private ApiResponse<ConversationResponse> createAs(User caller, User target) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(caller.getId(), null, Collections.emptyList())
+        );
+        CreateDirectConversationRequest request = CreateDirectConversationRequest.builder()
+                .targetUserId(target.getId())
+                .build();
+        return conversationService.createDirectConversation(request);
+    }
+
+    private User buildUser(String username) {
+        return User.builder()
+                .username(username)
+                .passwordHash("hash")
+                .displayName(username)
+                .status("ACTIVE")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+    }
+}
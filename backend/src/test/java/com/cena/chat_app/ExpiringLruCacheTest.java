@@ -0,0 +1,106 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.cache.ExpiringLruCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringLruCacheTest {
+
+    @Test
+    void testLoadedValueIsCachedUntilInvalidated() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get("k", key -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get("k", key -> "v" + loads.incrementAndGet()));
+
+        cache.invalidate("k");
+
+        assertNull(cache.getIfPresent("k"));
+        assertEquals("v2", cache.get("k", key -> "v" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void testInvalidateDuringLoadDiscardsLoadedValue() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, Duration.ofMinutes(1));
+
+        String loaded = cache.get("k", key -> {
+            cache.invalidate(key);
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertNull(cache.getIfPresent("k"));
+        assertEquals("fresh", cache.get("k", key -> "fresh"));
+        assertEquals("fresh", cache.getIfPresent("k"));
+    }
+
+    @Test
+    void testInvalidateAllDuringLoadDiscardsLoadedValue() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, Duration.ofMinutes(1));
+        cache.put("other", "value");
+
+        cache.get("k", key -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertNull(cache.getIfPresent("k"));
+        assertNull(cache.getIfPresent("other"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testInvalidateDuringBulkLoadDiscardsOnlyInvalidatedKey() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, Duration.ofMinutes(1));
+
+        Map<String, String> loaded = cache.getAll(List.of("a", "b"), keys -> {
+            cache.invalidate("a");
+            Map<String, String> values = new HashMap<>();
+            keys.forEach(key -> values.put(key, key + "-value"));
+            return values;
+        });
+
+        assertEquals(Map.of("a", "a-value", "b", "b-value"), loaded);
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("b-value", cache.getIfPresent("b"));
+    }
+
+    @Test
+    void testExpiredEntryIsReloaded() throws InterruptedException {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, Duration.ofMillis(50));
+        cache.put("k", "old");
+
+        Thread.sleep(100);
+
+        assertNull(cache.getIfPresent("k"));
+        assertEquals("new", cache.get("k", key -> "new"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvicted() throws InterruptedException {
+        ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(10, Duration.ofMinutes(1));
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "v" + i);
+        }
+        Thread.sleep(5);
+        cache.getIfPresent(0);
+
+        cache.put(10, "v10");
+
+        assertTrue(cache.size() <= 10);
+        assertNotNull(cache.getIfPresent(0));
+        assertNotNull(cache.getIfPresent(10));
+        assertNull(cache.getIfPresent(1));
+    }
+}
@@ -0,0 +1,106 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.websocket.OutboundBackpressureDecoratorFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "realtime.batch-window=50ms", "realtime.batch-max-bytes=4096" })
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class FrameBatchingTest {
+
+    @Autowired
+    private OutboundBackpressureDecoratorFactory decoratorFactory;
+
+    @Test
+    void testOptedInSessionReceivesBurstAsSingleFrame() throws Exception {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        WebSocketSession rawSession = recordingSession(sent);
+        WebSocketSession session = connect(rawSession, true);
+
+        session.sendMessage(frame("/topic/conversation.c1", "m1"));
+        session.sendMessage(frame("/user/queue/unread", "u1"));
+        session.sendMessage(frame("/user/queue/typing", "t1"));
+
+        verify(rawSession, timeout(5000)).sendMessage(any());
+        Thread.sleep(200);
+
+        assertEquals(1, sent.size());
+        assertEquals(frame("/topic/conversation.c1", "m1").getPayload()
+                + frame("/user/queue/unread", "u1").getPayload()
+                + frame("/user/queue/typing", "t1").getPayload(), sent.get(0));
+    }
+
+    @Test
+    void testBatchRespectsByteLimit() throws Exception {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        WebSocketSession rawSession = recordingSession(sent);
+        WebSocketSession session = connect(rawSession, true);
+
+        String body = "x".repeat(3000);
+        session.sendMessage(frame("/topic/conversation.c1", body));
+        session.sendMessage(frame("/topic/conversation.c1", body));
+
+        verify(rawSession, timeout(5000).times(2)).sendMessage(any());
+    }
+
+    @Test
+    void testSessionWithoutHeaderIsNotBatched() throws Exception {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        WebSocketSession rawSession = recordingSession(sent);
+        WebSocketSession session = connect(rawSession, false);
+
+        session.sendMessage(frame("/topic/conversation.c1", "m1"));
+        session.sendMessage(frame("/topic/conversation.c1", "m2"));
+
+        verify(rawSession, timeout(5000).times(2)).sendMessage(any());
+    }
+
+    private WebSocketSession connect(WebSocketSession rawSession, boolean batching) throws Exception {
+        WebSocketHandler delegate = mock(WebSocketHandler.class);
+        WebSocketHandler handler = decoratorFactory.decorate(delegate);
+        handler.afterConnectionEstablished(rawSession);
+
+        String connect = "CONNECT\naccept-version:1.2\n"
+                + (batching ? OutboundBackpressureDecoratorFactory.BATCHING_HEADER + ":true\n" : "")
+                + "\n\u0000";
+        handler.handleMessage(rawSession, new TextMessage(connect));
+
+        ArgumentCaptor<WebSocketSession> captor = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(delegate).afterConnectionEstablished(captor.capture());
+        return captor.getValue();
+    }
+
+    private WebSocketSession recordingSession(List<String> sent) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(UUID.randomUUID().toString());
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            sent.add(((TextMessage) invocation.getArgument(0)).getPayload());
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+
+    private TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\ncontent-type:application/json\n\n" + body + "\u0000");
+    }
+}
@@ -0,0 +1,206 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.dto.response.MessagePageResponse;
+import com.cena.chat_app.dto.response.MessageResponse;
+import com.cena.chat_app.entity.Conversation;
+import com.cena.chat_app.entity.ConversationMember;
+import com.cena.chat_app.entity.Message;
+import com.cena.chat_app.entity.User;
+import com.cena.chat_app.exception.AppException;
+import com.cena.chat_app.exception.ErrorCode;
+import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.repository.ConversationRepository;
+import com.cena.chat_app.repository.MessageRepository;
+import com.cena.chat_app.repository.MessageRepositoryImpl;
+import com.cena.chat_app.repository.UserRepository;
+import com.cena.chat_app.service.MessageService;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class MessageCursorPaginationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ConversationMemberRepository conversationMemberRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User user1;
+    private Conversation conversation;
+    private List<Message> messages;
+
+    @BeforeEach
+    void setUp() {
+        user1 = User.builder()
+                .username("user1")
+                .passwordHash(passwordEncoder.encode("password"))
+                .displayName("User 1")
+                .status("ACTIVE")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        user1 = userRepository.save(user1);
+
+        conversation = Conversation.builder()
+                .type("GROUP")
+                .name("Paging")
+                .createdAt(Instant.now())
+                .build();
+        conversation = conversationRepository.save(conversation);
+
+        ConversationMember member = ConversationMember.builder()
+                .conversationId(conversation.getId())
+                .userId(user1.getId())
+                .role("OWNER")
+                .canSendMessage(true)
+                .joinedAt(Instant.now())
+                .unreadCount(0)
+                .build();
+        conversationMemberRepository.save(member);
+
+        Instant base = Instant.now();
+        messages = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Message message = Message.builder()
+                    .conversationId(conversation.getId())
+                    .senderId(user1.getId())
+                    .type("TEXT")
+                    .content("Message " + i)
+                    .isDeleted(false)
+                    .createdAt(i < 4 ? base : base.plusSeconds(i))
+                    .updatedAt(base)
+                    .build();
+            messages.add(messageRepository.save(message));
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user1.getId(), null, Collections.emptyList())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        messageRepository.deleteAll();
+        conversationMemberRepository.deleteAll();
+        conversationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testWalkingBackwardsVisitsEveryMessageOnce() {
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        boolean hasMore = true;
+        int pages = 0;
+
+        while (hasMore) {
+            MessagePageResponse page = messageService.getMessagePage(conversation.getId(), cursor, true, 3).getData();
+            for (MessageResponse response : page.getMessages()) {
+                assertTrue(seen.add(response.getId()), "Message returned twice: " + response.getId());
+            }
+            cursor = page.getNextCursor();
+            hasMore = page.isHasMore();
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(messages.size(), seen.size());
+    }
+
+    @Test
+    void testFirstPageIsNewestFirst() {
+        MessagePageResponse page = messageService.getMessagePage(conversation.getId(), null, true, 2).getData();
+
+        assertEquals(2, page.getMessages().size());
+        assertEquals(messages.get(6).getId(), page.getMessages().get(0).getId());
+        assertEquals(messages.get(5).getId(), page.getMessages().get(1).getId());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void testAfterCursorReturnsOnlyNewerMessages() {
+        MessagePageResponse older = messageService.getMessagePage(conversation.getId(), null, true, 7).getData();
+        String oldestCursor = older.getNextCursor();
+
+        MessagePageResponse newer = messageService.getMessagePage(conversation.getId(), oldestCursor, false, 10).getData();
+
+        assertEquals(6, newer.getMessages().size());
+        assertFalse(newer.isHasMore());
+        assertTrue(newer.getMessages().stream().noneMatch(m -> m.getId().equals(older.getMessages().get(6).getId())));
+    }
+
+    @Test
+    void testMalformedCursorIsRejected() {
+        AppException exception = assertThrows(AppException.class,
+                () -> messageService.getMessagePage(conversation.getId(), "not-a-cursor!", true, 10));
+
+        assertEquals(ErrorCode.INVALID_CURSOR, exception.getErrorCode());
+    }
+
+    @Test
+    void testNonPositivePageSizeIsRejected() {
+        AppException exception = assertThrows(AppException.class,
+                () -> messageService.getMessagePage(conversation.getId(), null, true, -1));
+
+        assertEquals(ErrorCode.INVALID_PAGE_SIZE, exception.getErrorCode());
+    }
+
+    @Test
+    void testHistoryIndexReplacesSupersededIndex() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Message.class);
+        indexOps.createIndex(new CompoundIndexDefinition(new Document("conversationId", 1).append("createdAt", -1))
+                .named("conversationId_createdAt_desc_idx"));
+
+        new MessageRepositoryImpl(mongoTemplate).ensureHistoryIndex();
+
+        List<String> indexNames = indexOps.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .toList();
+        assertTrue(indexNames.contains("conversationId_createdAt_id_desc_idx"));
+        assertFalse(indexNames.contains("conversationId_createdAt_desc_idx"));
+    }
+}
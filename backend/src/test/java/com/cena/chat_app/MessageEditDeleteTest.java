@@ -1,5 +1,6 @@
 package com.cena.chat_app;
 
+import com.cena.chat_app.cache.ConversationContextCache;
 import com.cena.chat_app.config.TestMongoDBConfiguration;
 import com.cena.chat_app.config.TestRedisConfiguration;
 import com.cena.chat_app.dto.ApiResponse;
@@ -41,7 +42,13 @@ import org.springframework.web.socket.messaging.WebSocketStompClient;
 import java.lang.reflect.Type;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -70,6 +77,9 @@ class MessageEditDeleteTest {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private ConversationContextCache conversationContextCache;
+
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
@@ -321,6 +331,84 @@ class MessageEditDeleteTest {
         assertEquals(ErrorCode.MESSAGE_ALREADY_DELETED, exception.getErrorCode());
     }
 
+    @Test
+    void testRemovedMemberCannotEditOwnMessage() {
+        conversationContextCache.getMemberIds(conversation.getId());
+        conversationMemberRepository.findByConversationIdAndUserId(conversation.getId(), user1.getId())
+                .ifPresent(conversationMemberRepository::delete);
+
+        AppException exception = assertThrows(AppException.class, () -> messageService.editMessage(user1.getId(),
+                EditMessageRequest.builder()
+                        .messageId(textMessage.getId())
+                        .content("After removal")
+                        .build()));
+
+        assertEquals(ErrorCode.CONVERSATION_ACCESS_DENIED, exception.getErrorCode());
+        assertEquals(textMessage.getContent(), messageRepository.findById(textMessage.getId()).orElseThrow().getContent());
+    }
+
+    @Test
+    void testEditLeavesReactionsUntouched() {
+        textMessage.setReactions(new HashMap<>(Map.of(user2.getId(), "👍")));
+        textMessage.setReactionCounts(new HashMap<>(Map.of("👍", 1L)));
+        textMessage = messageRepository.save(textMessage);
+
+        messageService.editMessage(user1.getId(), EditMessageRequest.builder()
+                .messageId(textMessage.getId())
+                .content("Edited with reactions")
+                .build());
+
+        Message updatedMessage = messageRepository.findById(textMessage.getId()).orElseThrow();
+        assertEquals("Edited with reactions", updatedMessage.getContent());
+        assertEquals(Map.of(user2.getId(), "👍"), updatedMessage.getReactions());
+        assertEquals(Map.of("👍", 1L), updatedMessage.getReactionCounts());
+    }
+
+    @Test
+    void testConcurrentEditAndDeleteNeverResurrectContent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 20; i++) {
+            Message message = messageRepository.save(Message.builder()
+                    .conversationId(conversation.getId())
+                    .senderId(user1.getId())
+                    .type("TEXT")
+                    .content("Original " + i)
+                    .isDeleted(false)
+                    .createdAt(Instant.now())
+                    .updatedAt(Instant.now())
+                    .build());
+
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?> edit = executor.submit(() -> {
+                start.await();
+                try {
+                    messageService.editMessage(user1.getId(), EditMessageRequest.builder()
+                            .messageId(message.getId())
+                            .content("Edited")
+                            .build());
+                } catch (AppException e) {
+                    assertEquals(ErrorCode.MESSAGE_ALREADY_DELETED, e.getErrorCode());
+                }
+                return null;
+            });
+            Future<?> delete = executor.submit(() -> {
+                start.await();
+                messageService.deleteMessage(user1.getId(), DeleteMessageRequest.builder()
+                        .messageId(message.getId())
+                        .build());
+                return null;
+            });
+            start.countDown();
+            edit.get(10, TimeUnit.SECONDS);
+            delete.get(10, TimeUnit.SECONDS);
+
+            Message stored = messageRepository.findById(message.getId()).orElseThrow();
+            assertTrue(stored.isDeleted());
+            assertNull(stored.getContent());
+        }
+        executor.shutdown();
+    }
+
     @Test
     void testEditEventDeliveredViaWebSocket() throws Exception {
         BlockingQueue<MessageUpdateEventResponse> receivedEvents = new LinkedBlockingQueue<>();
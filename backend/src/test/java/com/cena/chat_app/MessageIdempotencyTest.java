@@ -0,0 +1,234 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.dto.request.SendMessageRequest;
+import com.cena.chat_app.dto.response.MessageResponse;
+import com.cena.chat_app.entity.Conversation;
+import com.cena.chat_app.entity.ConversationMember;
+import com.cena.chat_app.entity.User;
+import com.cena.chat_app.exception.AppException;
+import com.cena.chat_app.exception.ErrorCode;
+import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.repository.ConversationRepository;
+import com.cena.chat_app.repository.MessageRepository;
+import com.cena.chat_app.repository.UserRepository;
+import com.cena.chat_app.service.MessageDedupClaim;
+import com.cena.chat_app.service.MessageService;
+import com.cena.chat_app.service.RedisMessageDedupService;
+import com.cena.chat_app.service.RedisUnreadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class MessageIdempotencyTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ConversationMemberRepository conversationMemberRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private RedisUnreadService redisUnreadService;
+
+    @Autowired
+    private RedisMessageDedupService redisMessageDedupService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User sender;
+    private User recipient;
+    private Conversation conversation;
+
+    @BeforeEach
+    void setUp() {
+        sender = saveUser("sender");
+        recipient = saveUser("recipient");
+
+        conversation = conversationRepository.save(Conversation.builder()
+                .type("DIRECT")
+                .createdAt(Instant.now())
+                .build());
+        saveMember(sender.getId());
+        saveMember(recipient.getId());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(sender.getId(), null, Collections.emptyList())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        redisTemplate.delete(redisTemplate.keys("dedup:message:*"));
+        redisUnreadService.resetUnreadCount(recipient.getId(), conversation.getId());
+        messageRepository.deleteAll();
+        conversationMemberRepository.deleteAll();
+        conversationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testRetryReturnsOriginalMessageWithoutFanOut() {
+        SendMessageRequest request = SendMessageRequest.builder()
+                .conversationId(conversation.getId())
+                .content("Only once")
+                .clientMessageId("retry-1")
+                .build();
+
+        MessageResponse first = messageService.sendMessage(request).getData();
+        MessageResponse retry = messageService.sendMessage(request).getData();
+
+        assertEquals(first.getId(), retry.getId());
+        assertEquals(first.getSeq(), retry.getSeq());
+        assertEquals("Only once", retry.getContent());
+        assertEquals(1, messageRepository.count());
+        assertEquals(1, redisUnreadService.getUnreadCount(recipient.getId(), conversation.getId()));
+    }
+
+    @Test
+    void testDifferentClientMessageIdsCreateSeparateMessages() {
+        MessageResponse first = messageService.sendMessage(SendMessageRequest.builder()
+                .conversationId(conversation.getId())
+                .content("First")
+                .clientMessageId("id-a")
+                .build()).getData();
+        MessageResponse second = messageService.sendMessage(SendMessageRequest.builder()
+                .conversationId(conversation.getId())
+                .content("Second")
+                .clientMessageId("id-b")
+                .build()).getData();
+
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(2, messageRepository.count());
+    }
+
+    @Test
+    void testSendWithoutClientMessageIdIsNotDeduplicated() {
+        SendMessageRequest request = SendMessageRequest.builder()
+                .conversationId(conversation.getId())
+                .content("No id")
+                .build();
+
+        messageService.sendMessage(request);
+        messageService.sendMessage(request);
+
+        assertEquals(2, messageRepository.count());
+    }
+
+    @Test
+    void testInFlightDuplicateIsRejected() {
+        redisTemplate.opsForValue().set("dedup:message:" + sender.getId() + ":in-flight", "PENDING");
+
+        AppException exception = assertThrows(AppException.class, () -> messageService.sendMessage(
+                SendMessageRequest.builder()
+                        .conversationId(conversation.getId())
+                        .content("Racing")
+                        .clientMessageId("in-flight")
+                        .build()));
+
+        assertEquals(ErrorCode.MESSAGE_SEND_IN_PROGRESS, exception.getErrorCode());
+        assertEquals(0, messageRepository.count());
+    }
+
+    @Test
+    void testRejectedSendCanBeRetriedWithSameId() {
+        SendMessageRequest request = SendMessageRequest.builder()
+                .conversationId(conversation.getId())
+                .content("Reply")
+                .replyTo("missing-message")
+                .clientMessageId("retry-after-error")
+                .build();
+
+        assertThrows(AppException.class, () -> messageService.sendMessage(request));
+
+        request.setReplyTo(null);
+        MessageResponse response = messageService.sendMessage(request).getData();
+
+        assertNotNull(response.getId());
+        assertEquals(1, messageRepository.count());
+    }
+
+    @Test
+    void testAbandonedClaimExpires() {
+        String key = "dedup:message:" + sender.getId() + ":abandoned";
+
+        MessageDedupClaim claim = redisMessageDedupService.claim(sender.getId(), "abandoned");
+        assertFalse(claim.isDuplicate());
+        Long pendingTtl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+        assertTrue(pendingTtl != null && pendingTtl > 0 && pendingTtl <= 30);
+
+        redisMessageDedupService.complete(claim, "message-id");
+        Long completedTtl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+        assertTrue(completedTtl != null && completedTtl > 30);
+    }
+
+    @Test
+    void testExpiredClaimCannotOverwriteNewerClaim() {
+        String key = "dedup:message:" + sender.getId() + ":slow";
+
+        MessageDedupClaim slow = redisMessageDedupService.claim(sender.getId(), "slow");
+        redisTemplate.delete(key);
+        MessageDedupClaim retry = redisMessageDedupService.claim(sender.getId(), "slow");
+
+        redisMessageDedupService.complete(slow, "slow-message-id");
+        redisMessageDedupService.release(slow);
+        assertEquals(retry.token(), redisTemplate.opsForValue().get(key));
+
+        redisMessageDedupService.complete(retry, "retry-message-id");
+        assertEquals("retry-message-id", redisTemplate.opsForValue().get(key));
+    }
+
+    private User saveUser(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .passwordHash(passwordEncoder.encode("password"))
+                .displayName(username)
+                .status("ACTIVE")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build());
+    }
+
+    private void saveMember(String userId) {
+        conversationMemberRepository.save(ConversationMember.builder()
+                .conversationId(conversation.getId())
+                .userId(userId)
+                .role("MEMBER")
+                .canSendMessage(true)
+                .joinedAt(Instant.now())
+                .unreadCount(0)
+                .build());
+    }
+}
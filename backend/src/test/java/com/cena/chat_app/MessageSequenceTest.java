@@ -0,0 +1,140 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.dto.request.SendMessageRequest;
+import com.cena.chat_app.dto.response.MessageResponse;
+import com.cena.chat_app.entity.Conversation;
+import com.cena.chat_app.entity.ConversationMember;
+import com.cena.chat_app.entity.User;
+import com.cena.chat_app.exception.AppException;
+import com.cena.chat_app.exception.ErrorCode;
+import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.repository.ConversationRepository;
+import com.cena.chat_app.repository.MessageRepository;
+import com.cena.chat_app.repository.UserRepository;
+import com.cena.chat_app.service.MessageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class MessageSequenceTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ConversationMemberRepository conversationMemberRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User user1;
+    private Conversation conversation;
+
+    @BeforeEach
+    void setUp() {
+        user1 = User.builder()
+                .username("user1")
+                .passwordHash(passwordEncoder.encode("password"))
+                .displayName("User 1")
+                .status("ACTIVE")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        user1 = userRepository.save(user1);
+
+        conversation = Conversation.builder()
+                .type("GROUP")
+                .name("Sequenced")
+                .createdAt(Instant.now())
+                .build();
+        conversation = conversationRepository.save(conversation);
+
+        ConversationMember member = ConversationMember.builder()
+                .conversationId(conversation.getId())
+                .userId(user1.getId())
+                .role("OWNER")
+                .canSendMessage(true)
+                .joinedAt(Instant.now())
+                .unreadCount(0)
+                .build();
+        conversationMemberRepository.save(member);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user1.getId(), null, Collections.emptyList())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        messageRepository.deleteAll();
+        conversationMemberRepository.deleteAll();
+        conversationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testSequenceIncrementsPerConversation() {
+        for (long expected = 1; expected <= 5; expected++) {
+            SendMessageRequest request = SendMessageRequest.builder()
+                    .conversationId(conversation.getId())
+                    .content("Message " + expected)
+                    .build();
+
+            MessageResponse response = messageService.sendMessage(request).getData();
+
+            assertEquals(expected, response.getSeq());
+        }
+    }
+
+    @Test
+    void testSequenceRangeReturnsOnlyRequestedMessages() {
+        for (int i = 1; i <= 5; i++) {
+            messageService.sendMessage(SendMessageRequest.builder()
+                    .conversationId(conversation.getId())
+                    .content("Message " + i)
+                    .build());
+        }
+
+        List<MessageResponse> gap = messageService.getMessagesBySeqRange(conversation.getId(), 2, 4).getData();
+
+        assertEquals(3, gap.size());
+        assertEquals(2L, gap.get(0).getSeq());
+        assertEquals(4L, gap.get(2).getSeq());
+    }
+
+    @Test
+    void testInvalidSequenceRangeIsRejected() {
+        AppException exception = assertThrows(AppException.class,
+                () -> messageService.getMessagesBySeqRange(conversation.getId(), 5, 2));
+
+        assertEquals(ErrorCode.INVALID_SEQUENCE_RANGE, exception.getErrorCode());
+    }
+}
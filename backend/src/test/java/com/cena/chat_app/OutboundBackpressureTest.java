@@ -0,0 +1,134 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.websocket.OutboundBackpressureDecoratorFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "realtime.send-buffer-size=4", "realtime.send-saturation-timeout=30s" })
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class OutboundBackpressureTest {
+
+    @Autowired
+    private OutboundBackpressureDecoratorFactory decoratorFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testTypingDroppedBeforeMessagesUnderPressure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> sent = new CopyOnWriteArrayList<>();
+        WebSocketSession slowSession = slowSession(release, sent);
+        WebSocketSession session = connect(slowSession);
+        double typingDropsBefore = dropped("typing");
+
+        session.sendMessage(frame("/topic/conversation.c1", "m0"));
+        Thread.sleep(200);
+        for (int i = 0; i < 4; i++) {
+            session.sendMessage(frame("/user/queue/typing", "t" + i));
+        }
+        session.sendMessage(frame("/topic/conversation.c1", "m1"));
+        session.sendMessage(frame("/user/queue/reactions", "r1"));
+
+        release.countDown();
+        verify(slowSession, timeout(5000).times(5)).sendMessage(any());
+
+        assertEquals(List.of("m0", "m1", "r1", "t2", "t3"), sent);
+        assertEquals(2, dropped("typing") - typingDropsBefore);
+        verify(slowSession, never()).close(any());
+    }
+
+    @Test
+    void testSaturatedSessionDisconnectedInsteadOfDroppingMessages() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession slowSession = slowSession(release, new CopyOnWriteArrayList<>());
+        WebSocketSession session = connect(slowSession);
+
+        session.sendMessage(frame("/topic/conversation.c1", "m0"));
+        Thread.sleep(200);
+        for (int i = 1; i <= 5; i++) {
+            session.sendMessage(frame("/topic/conversation.c1", "m" + i));
+        }
+
+        verify(slowSession, timeout(5000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        release.countDown();
+    }
+
+    @Test
+    void testQueuedErrorFrameFlushedBeforeClose() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> sent = new CopyOnWriteArrayList<>();
+        WebSocketSession slowSession = slowSession(release, sent);
+        WebSocketSession session = connect(slowSession);
+
+        session.sendMessage(frame("/topic/conversation.c1", "m0"));
+        Thread.sleep(200);
+        session.sendMessage(frame("/user/queue/typing", "t0"));
+        session.sendMessage(new TextMessage("ERROR\nmessage:Access denied\n\ndenied\u0000"));
+        session.close(CloseStatus.PROTOCOL_ERROR);
+
+        verify(slowSession, never()).close(any());
+        release.countDown();
+
+        InOrder inOrder = inOrder(slowSession);
+        inOrder.verify(slowSession, timeout(5000).times(2)).sendMessage(any());
+        inOrder.verify(slowSession, timeout(5000)).close(CloseStatus.PROTOCOL_ERROR);
+        assertEquals(List.of("m0", "denied"), sent);
+    }
+
+    private WebSocketSession connect(WebSocketSession rawSession) throws Exception {
+        WebSocketHandler delegate = mock(WebSocketHandler.class);
+        WebSocketHandler handler = decoratorFactory.decorate(delegate);
+        handler.afterConnectionEstablished(rawSession);
+
+        ArgumentCaptor<WebSocketSession> captor = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(delegate).afterConnectionEstablished(captor.capture());
+        return captor.getValue();
+    }
+
+    private WebSocketSession slowSession(CountDownLatch release, List<String> sent) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(UUID.randomUUID().toString());
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            String payload = ((TextMessage) invocation.getArgument(0, WebSocketMessage.class)).getPayload();
+            sent.add(payload.substring(payload.indexOf("\n\n") + 2, payload.length() - 1));
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+
+    private TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\ncontent-type:application/json\n\n" + body + "\u0000");
+    }
+
+    private double dropped(String priority) {
+        return meterRegistry.counter("chat.websocket.outbound.dropped", "priority", priority).count();
+    }
+}
@@ -0,0 +1,63 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.RealtimeProperties;
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.websocket.RealtimeTransport;
+import com.cena.chat_app.websocket.RedisPresenceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class PresenceRoutingTest {
+
+    @Autowired
+    private RedisPresenceService presenceService;
+
+    @Autowired
+    private RealtimeTransport realtimeTransport;
+
+    @Autowired
+    private RealtimeProperties realtimeProperties;
+
+    @AfterEach
+    void tearDown() {
+        presenceService.removeSession("routing-session-1");
+        presenceService.removeSession("routing-session-2");
+    }
+
+    @Test
+    void testUserEventsRouteOnlyToNodesHoldingSessions() {
+        presenceService.addSession("routing-user", "routing-session-1", "node-a");
+        presenceService.addSession("routing-user", "routing-session-2", "node-b");
+
+        Map<String, Set<String>> channels = realtimeTransport.resolveUserChannels(List.of("routing-user", "offline-user"));
+
+        assertEquals(Set.of(realtimeProperties.nodeChannel("node-a"), realtimeProperties.nodeChannel("node-b")),
+                channels.get("routing-user"));
+        assertTrue(channels.get("offline-user").isEmpty());
+    }
+
+    @Test
+    void testDisconnectRemovesNodeRoute() {
+        presenceService.addSession("routing-user", "routing-session-1", "node-a");
+        presenceService.addSession("routing-user", "routing-session-2", "node-b");
+        presenceService.removeSession("routing-session-1");
+
+        Map<String, Set<String>> channels = realtimeTransport.resolveUserChannels(List.of("routing-user"));
+
+        assertEquals(Set.of(realtimeProperties.nodeChannel("node-b")), channels.get("routing-user"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.websocket.RawPayloadSender;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class RawPayloadSenderTest {
+
+    @Autowired
+    private RawPayloadSender rawPayloadSender;
+
+    @Test
+    void testReadsTopLevelFieldOnly() {
+        byte[] payload = """
+                {"message":{"userId":"nested"},"tags":["userId"],"userId":"user-1","typing":true}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("user-1", rawPayloadSender.readTextField(payload, "userId"));
+    }
+
+    @Test
+    void testMissingOrNonTextFieldReturnsNull() {
+        byte[] payload = "{\"senderId\":null,\"typing\":true}".getBytes(StandardCharsets.UTF_8);
+
+        assertNull(rawPayloadSender.readTextField(payload, "senderId"));
+        assertNull(rawPayloadSender.readTextField(payload, "userId"));
+    }
+}
@@ -4,7 +4,10 @@ import com.cena.chat_app.config.TestMongoDBConfiguration;
 import com.cena.chat_app.config.TestRedisConfiguration;
 import com.cena.chat_app.dto.ApiResponse;
 import com.cena.chat_app.dto.request.ReactionRequest;
+import com.cena.chat_app.dto.response.MessageResponse;
 import com.cena.chat_app.dto.response.ReactionEventResponse;
+import com.cena.chat_app.dto.response.ReactionPageResponse;
+import com.cena.chat_app.dto.response.ReactionUserResponse;
 import com.cena.chat_app.entity.Conversation;
 import com.cena.chat_app.entity.ConversationMember;
 import com.cena.chat_app.entity.Message;
@@ -15,6 +18,7 @@ import com.cena.chat_app.repository.MessageRepository;
 import com.cena.chat_app.repository.UserRepository;
 import com.cena.chat_app.security.JwtTokenProvider;
 import com.cena.chat_app.service.MessageService;
+import com.cena.chat_app.startup.ReactionCountBackfill;
 import tools.jackson.databind.DeserializationFeature;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +27,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.converter.JacksonJsonMessageConverter;
 import org.springframework.messaging.simp.stomp.StompFrameHandler;
 import org.springframework.messaging.simp.stomp.StompHeaders;
@@ -37,8 +42,15 @@ import org.springframework.web.socket.messaging.WebSocketStompClient;
 
 import java.lang.reflect.Type;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -67,6 +79,9 @@ class ReactionTest {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private ReactionCountBackfill reactionCountBackfill;
+
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
@@ -330,4 +345,159 @@ class ReactionTest {
 
         session.disconnect();
     }
+
+    @Test
+    void testConcurrentReactionsAreNotLost() throws Exception {
+        int reactors = 50;
+        List<String> reactorIds = new ArrayList<>();
+        for (int i = 0; i < reactors; i++) {
+            String reactorId = "reactor-" + i;
+            reactorIds.add(reactorId);
+            conversationMemberRepository.save(ConversationMember.builder()
+                    .conversationId(conversation.getId())
+                    .userId(reactorId)
+                    .role("MEMBER")
+                    .canSendMessage(true)
+                    .joinedAt(Instant.now())
+                    .unreadCount(0)
+                    .build());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (String reactorId : reactorIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return messageService.toggleReaction(reactorId, ReactionRequest.builder()
+                        .messageId(message.getId())
+                        .reactionType("👍")
+                        .build());
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Message updatedMessage = messageRepository.findById(message.getId()).orElseThrow();
+        assertEquals(reactors, updatedMessage.getReactions().size());
+        assertTrue(updatedMessage.getReactions().keySet().containsAll(reactorIds));
+        assertEquals((long) reactors, updatedMessage.getReactionCounts().get("👍"));
+        assertEquals("Test message", updatedMessage.getContent());
+    }
+
+    @Test
+    void testReplacingReactionSendsCountDelta() {
+        messageService.toggleReaction(user2.getId(), ReactionRequest.builder()
+                .messageId(message.getId())
+                .reactionType("❤️")
+                .build());
+        messageService.toggleReaction(user1.getId(), ReactionRequest.builder()
+                .messageId(message.getId())
+                .reactionType("❤️")
+                .build());
+
+        ReactionEventResponse event = messageService.toggleReaction(user1.getId(), ReactionRequest.builder()
+                .messageId(message.getId())
+                .reactionType("👍")
+                .build()).getData();
+
+        assertTrue(event.isAdded());
+        assertEquals("❤️", event.getPreviousReactionType());
+        assertEquals(Map.of("❤️", 1L, "👍", 1L), event.getReactionCounts());
+
+        event = messageService.toggleReaction(user1.getId(), ReactionRequest.builder()
+                .messageId(message.getId())
+                .reactionType("👍")
+                .build()).getData();
+
+        assertFalse(event.isAdded());
+        assertEquals(Map.of("👍", 0L), event.getReactionCounts());
+    }
+
+    @Test
+    void testMessageResponseCarriesCountsAndOwnReaction() {
+        messageService.toggleReaction(user1.getId(), ReactionRequest.builder()
+                .messageId(message.getId())
+                .reactionType("❤️")
+                .build());
+        messageService.toggleReaction(user2.getId(), ReactionRequest.builder()
+                .messageId(message.getId())
+                .reactionType("❤️")
+                .build());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user1.getId(), null, Collections.emptyList())
+        );
+
+        MessageResponse response = messageService.getMessages(conversation.getId(), PageRequest.of(0, 10))
+                .getData().get(0);
+
+        assertEquals(Map.of("❤️", 2L), response.getReactionCounts());
+        assertEquals("❤️", response.getMyReaction());
+    }
+
+    @Test
+    void testReactionUsersArePaginated() {
+        for (int i = 0; i < 5; i++) {
+            String reactorId = "reactor-" + i;
+            conversationMemberRepository.save(ConversationMember.builder()
+                    .conversationId(conversation.getId())
+                    .userId(reactorId)
+                    .role("MEMBER")
+                    .canSendMessage(true)
+                    .joinedAt(Instant.now())
+                    .unreadCount(0)
+                    .build());
+            messageService.toggleReaction(reactorId, ReactionRequest.builder()
+                    .messageId(message.getId())
+                    .reactionType(i % 2 == 0 ? "👍" : "❤️")
+                    .build());
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user1.getId(), null, Collections.emptyList())
+        );
+
+        ReactionPageResponse first = messageService.getReactionUsers(message.getId(), null, null, 2).getData();
+        assertEquals(List.of("reactor-0", "reactor-1"),
+                first.getReactions().stream().map(ReactionUserResponse::getUserId).toList());
+        assertTrue(first.isHasMore());
+
+        ReactionPageResponse second = messageService.getReactionUsers(message.getId(), null, first.getNextCursor(), 2)
+                .getData();
+        assertEquals(List.of("reactor-2", "reactor-3"),
+                second.getReactions().stream().map(ReactionUserResponse::getUserId).toList());
+
+        ReactionPageResponse likes = messageService.getReactionUsers(message.getId(), "👍", null, 10).getData();
+        assertEquals(List.of("reactor-0", "reactor-2", "reactor-4"),
+                likes.getReactions().stream().map(ReactionUserResponse::getUserId).toList());
+        assertFalse(likes.isHasMore());
+    }
+
+    @Test
+    void testBackfillCorrectsMismatchedReactionCounts() {
+        message.setReactions(Map.of(user1.getId(), "LIKE", user2.getId(), "LOVE"));
+        message.setReactionCounts(Map.of("LIKE", 3L, "LOVE", 0L, "WOW", 1L));
+        messageRepository.save(message);
+
+        Message untracked = messageRepository.save(Message.builder()
+                .conversationId(conversation.getId())
+                .senderId(user2.getId())
+                .type("TEXT")
+                .content("Untracked")
+                .reactions(Map.of(user1.getId(), "WOW"))
+                .isDeleted(false)
+                .createdAt(Instant.now())
+                .build());
+
+        reactionCountBackfill.run(null);
+
+        assertEquals(Map.of("LIKE", 1L, "LOVE", 1L),
+                messageRepository.findById(message.getId()).orElseThrow().getReactionCounts());
+        assertEquals(Map.of("WOW", 1L),
+                messageRepository.findById(untracked.getId()).orElseThrow().getReactionCounts());
+    }
 }
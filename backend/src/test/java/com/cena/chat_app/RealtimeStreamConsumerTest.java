@@ -0,0 +1,152 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.RealtimeProperties;
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.websocket.RealtimeEventDispatcher;
+import com.cena.chat_app.websocket.RealtimeEventType;
+import com.cena.chat_app.websocket.RealtimeTransport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "realtime.transport=streams",
+        "realtime.stream-maintenance-interval=1s",
+        "realtime.stream-retry-min-idle=0s",
+        "realtime.stream-ephemeral-max-age=0ms"
+})
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class RealtimeStreamConsumerTest {
+
+    @MockitoSpyBean
+    private RealtimeEventDispatcher dispatcher;
+
+    @Autowired
+    private RealtimeTransport realtimeTransport;
+
+    @Autowired
+    private RealtimeProperties realtimeProperties;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testGroupIsCreatedAndRecordIsAckedAfterDispatch() throws InterruptedException {
+        String streamKey = realtimeProperties.getStreamKey();
+
+        assertTrue(groupNames(streamKey).contains(realtimeProperties.getNodeId()));
+
+        realtimeTransport.publish(RealtimeEventType.MESSAGE, "stream-acked-conversation", "{\"n\":1}");
+
+        verify(dispatcher, timeout(5000)).dispatch(eq(RealtimeEventType.MESSAGE), eq("stream-acked-conversation"), any());
+        assertTrue(awaitNoPending(streamKey, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void testFailingRecordIsDroppedAfterMaxDeliveries() throws InterruptedException {
+        String streamKey = realtimeProperties.getStreamKey();
+        doThrow(new IllegalStateException("poison")).when(dispatcher)
+                .dispatch(eq(RealtimeEventType.MESSAGE), eq("stream-poison-conversation"), any());
+        double droppedBefore = meterRegistry.counter("chat.realtime.redis.stream.dropped", "reason", "deliveries").count();
+
+        realtimeTransport.publish(RealtimeEventType.MESSAGE, "stream-poison-conversation", "{\"n\":1}");
+
+        verify(dispatcher, timeout(10000).times(3))
+                .dispatch(eq(RealtimeEventType.MESSAGE), eq("stream-poison-conversation"), any());
+        assertTrue(awaitNoPending(streamKey, Duration.ofSeconds(5)));
+        Thread.sleep(2500);
+
+        verify(dispatcher, times(3)).dispatch(eq(RealtimeEventType.MESSAGE), eq("stream-poison-conversation"), any());
+        assertEquals(droppedBefore + 1,
+                meterRegistry.counter("chat.realtime.redis.stream.dropped", "reason", "deliveries").count());
+    }
+
+    @Test
+    void testStaleEphemeralRecordIsDroppedWithoutDispatch() throws InterruptedException {
+        String streamKey = realtimeProperties.getStreamKey();
+        double droppedBefore = meterRegistry.counter("chat.realtime.redis.stream.dropped", "reason", "stale").count();
+
+        realtimeTransport.publish(RealtimeEventType.TYPING, "stream-typing-conversation", "{\"typing\":true}");
+
+        assertTrue(awaitNoPending(streamKey, Duration.ofSeconds(5)));
+        Thread.sleep(500);
+
+        verify(dispatcher, never()).dispatch(eq(RealtimeEventType.TYPING), eq("stream-typing-conversation"), any());
+        assertTrue(meterRegistry.counter("chat.realtime.redis.stream.dropped", "reason", "stale").count() > droppedBefore);
+    }
+
+    @Test
+    void testGroupsWithoutHeartbeatAreDestroyed() throws InterruptedException {
+        String streamKey = realtimeProperties.getStreamKey();
+        redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.latest(), "stream-dead-node");
+        redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.latest(), "stream-live-node");
+        redisTemplate.opsForValue().set(realtimeProperties.streamHeartbeatKey("stream-live-node"), "1",
+                Duration.ofMinutes(1));
+
+        Thread.sleep(2500);
+
+        List<String> groups = groupNames(streamKey);
+        assertFalse(groups.contains("stream-dead-node"));
+        assertTrue(groups.contains("stream-live-node"));
+        assertTrue(groups.contains(realtimeProperties.getNodeId()));
+
+        redisTemplate.opsForStream().destroyGroup(streamKey, "stream-live-node");
+        redisTemplate.delete(realtimeProperties.streamHeartbeatKey("stream-live-node"));
+    }
+
+    @Test
+    void testLostGroupIsRecreated() throws InterruptedException {
+        String streamKey = realtimeProperties.getStreamKey();
+        redisTemplate.opsForStream().destroyGroup(streamKey, realtimeProperties.getNodeId());
+
+        Thread.sleep(2500);
+        realtimeTransport.publish(RealtimeEventType.MESSAGE, "stream-recreated-conversation", "{\"n\":1}");
+
+        verify(dispatcher, timeout(5000)).dispatch(eq(RealtimeEventType.MESSAGE), eq("stream-recreated-conversation"), any());
+        assertTrue(groupNames(streamKey).contains(realtimeProperties.getNodeId()));
+    }
+
+    private List<String> groupNames(String streamKey) {
+        return redisTemplate.opsForStream().groups(streamKey).stream()
+                .map(StreamInfo.XInfoGroup::groupName)
+                .toList();
+    }
+
+    private boolean awaitNoPending(String streamKey, Duration limit) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + limit.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            if (redisTemplate.opsForStream().pending(streamKey, realtimeProperties.getNodeId())
+                    .getTotalPendingMessages() == 0) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.dto.response.ReplayResponse;
+import com.cena.chat_app.dto.response.SeenEventResponse;
+import com.cena.chat_app.service.RedisReplayBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class ReplayBufferTest {
+
+    @Autowired
+    private RedisReplayBuffer redisReplayBuffer;
+
+    private String conversationId;
+
+    @BeforeEach
+    void setUp() {
+        conversationId = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void testReplayReturnsEventsAfterOffset() {
+        String first = append("m1");
+        String second = append("m2");
+        String third = append("m3");
+
+        ReplayResponse response = redisReplayBuffer.replay(conversationId, first);
+
+        assertFalse(response.isResyncRequired());
+        assertEquals(2, response.getEvents().size());
+        assertEquals(second, response.getEvents().get(0).getEventOffset());
+        assertEquals(third, response.getEvents().get(1).getEventOffset());
+        assertEquals(RedisReplayBuffer.TYPE_SEEN, response.getEvents().get(0).getType());
+        assertTrue(response.getEvents().get(0).getPayload().contains("m2"));
+        assertEquals(third, response.getLatestOffset());
+    }
+
+    @Test
+    void testReplayFromLatestOffsetIsEmpty() {
+        append("m1");
+        String latest = append("m2");
+
+        ReplayResponse response = redisReplayBuffer.replay(conversationId, latest);
+
+        assertFalse(response.isResyncRequired());
+        assertTrue(response.getEvents().isEmpty());
+        assertEquals(latest, response.getLatestOffset());
+    }
+
+    @Test
+    void testUnknownOffsetRequiresResync() {
+        String latest = append("m1");
+
+        ReplayResponse response = redisReplayBuffer.replay(conversationId, "1-0");
+
+        assertTrue(response.isResyncRequired());
+        assertTrue(response.getEvents().isEmpty());
+        assertEquals(latest, response.getLatestOffset());
+    }
+
+    private String append(String lastReadMessageId) {
+        SeenEventResponse event = SeenEventResponse.builder()
+                .conversationId(conversationId)
+                .userId("user1")
+                .lastReadMessageId(lastReadMessageId)
+                .build();
+        String offset = redisReplayBuffer.append(conversationId, RedisReplayBuffer.TYPE_SEEN, event);
+        assertNotNull(offset);
+        return offset;
+    }
+}
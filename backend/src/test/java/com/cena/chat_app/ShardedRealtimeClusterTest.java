@@ -0,0 +1,70 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.RealtimeProperties;
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisClusterConfiguration;
+import com.cena.chat_app.websocket.RealtimeEventDispatcher;
+import com.cena.chat_app.websocket.RealtimeEventType;
+import com.cena.chat_app.websocket.RealtimeTransport;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.SlotHash;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@EnabledIfSystemProperty(named = "redis.cluster.tests", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisClusterConfiguration.class, TestMongoDBConfiguration.class })
+class ShardedRealtimeClusterTest {
+
+    @MockitoSpyBean
+    private RealtimeEventDispatcher dispatcher;
+
+    @Autowired
+    private RealtimeTransport realtimeTransport;
+
+    @Autowired
+    private RealtimeProperties realtimeProperties;
+
+    @Autowired
+    private LettuceConnectionFactory connectionFactory;
+
+    @Test
+    void testPartitionChannelsSpreadAcrossShards() {
+        RedisClusterClient client = (RedisClusterClient) connectionFactory.getRequiredNativeClient();
+        Set<String> owners = new HashSet<>();
+        for (int partition = 0; partition < realtimeProperties.getShardedPartitions(); partition++) {
+            int slot = SlotHash.getSlot(realtimeProperties.partitionChannel(partition));
+            owners.add(client.getPartitions().getMasterBySlot(slot).getNodeId());
+        }
+
+        assertEquals(3, owners.size());
+    }
+
+    @Test
+    void testEventsOnEveryShardReachTheNode() {
+        int events = realtimeProperties.getShardedPartitions() * 2;
+        for (int i = 0; i < events; i++) {
+            realtimeTransport.publish(RealtimeEventType.MESSAGE, "cluster-conversation-" + i, "{}");
+        }
+
+        for (int i = 0; i < events; i++) {
+            verify(dispatcher, timeout(10000)).dispatch(eq(RealtimeEventType.MESSAGE), eq("cluster-conversation-" + i), any());
+        }
+    }
+}
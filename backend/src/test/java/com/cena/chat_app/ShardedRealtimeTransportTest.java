@@ -0,0 +1,69 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.RealtimeProperties;
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.websocket.RealtimeEventDispatcher;
+import com.cena.chat_app.websocket.RealtimeEventType;
+import com.cena.chat_app.websocket.RealtimeTransport;
+import com.cena.chat_app.websocket.RedisPresenceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "realtime.transport=sharded")
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class ShardedRealtimeTransportTest {
+
+    @MockitoSpyBean
+    private RealtimeEventDispatcher dispatcher;
+
+    @Autowired
+    private RealtimeTransport realtimeTransport;
+
+    @Autowired
+    private RedisPresenceService presenceService;
+
+    @Autowired
+    private RealtimeProperties realtimeProperties;
+
+    @AfterEach
+    void tearDown() {
+        presenceService.removeSession("sharded-session");
+    }
+
+    @Test
+    void testBroadcastEventsArriveOverShardedChannels() {
+        for (int i = 0; i < 10; i++) {
+            realtimeTransport.publish(RealtimeEventType.MESSAGE, "sharded-conversation-" + i, "{\"n\":" + i + "}");
+        }
+
+        for (int i = 0; i < 10; i++) {
+            String payload = "{\"n\":" + i + "}";
+            verify(dispatcher, timeout(5000)).dispatch(eq(RealtimeEventType.MESSAGE), eq("sharded-conversation-" + i),
+                    argThat(bytes -> new String(bytes, StandardCharsets.UTF_8).equals(payload)));
+        }
+    }
+
+    @Test
+    void testUserEventsArriveOverShardedNodeChannel() {
+        presenceService.addSession("sharded-user", "sharded-session", realtimeProperties.getNodeId());
+
+        realtimeTransport.publishToUser(RealtimeEventType.UNREAD, "sharded-user", "{\"unreadCount\":1}");
+
+        verify(dispatcher, timeout(5000)).dispatch(eq(RealtimeEventType.UNREAD), eq("sharded-user"), any());
+    }
+}
@@ -11,11 +11,15 @@ import com.cena.chat_app.repository.ConversationMemberRepository;
 import com.cena.chat_app.repository.ConversationRepository;
 import com.cena.chat_app.repository.UserRepository;
 import com.cena.chat_app.security.JwtTokenProvider;
+import com.cena.chat_app.service.RedisTypingPublisher;
+import com.cena.chat_app.service.TypingAggregator;
 import tools.jackson.databind.DeserializationFeature;
 import tools.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
@@ -27,16 +31,21 @@ import org.springframework.messaging.simp.stomp.StompSession;
 import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
 import org.springframework.web.socket.messaging.WebSocketStompClient;
 
 import java.lang.reflect.Type;
 import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -64,6 +73,12 @@ class TypingIndicatorTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TypingAggregator typingAggregator;
+
+    @MockitoSpyBean
+    private RedisTypingPublisher redisTypingPublisher;
+
     private User user1;
     private User user2;
     private Conversation conversation;
@@ -279,4 +294,83 @@ class TypingIndicatorTest {
 
         session.disconnect();
     }
+
+    @Test
+    void testTypingBurstCoalescedIntoSingleSnapshot() throws Exception {
+        BlockingQueue<TypingEventResponse> receivedEvents = new LinkedBlockingQueue<>();
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        tools.jackson.databind.json.JsonMapper mapper = tools.jackson.databind.json.JsonMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)
+                .build();
+        stompClient.setMessageConverter(new JacksonJsonMessageConverter(mapper));
+
+        String wsUrl = "ws://localhost:" + port + "/ws?token=" + user2Token;
+        StompSession session = stompClient.connectAsync(wsUrl, new StompSessionHandlerAdapter() {})
+                .get(5, TimeUnit.SECONDS);
+
+        session.subscribe("/user/queue/typing", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return TypingEventResponse.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                if (payload instanceof TypingEventResponse) {
+                    receivedEvents.add((TypingEventResponse) payload);
+                }
+            }
+        });
+
+        Thread.sleep(500);
+
+        String user1WsUrl = "ws://localhost:" + port + "/ws?token=" + user1Token;
+        StompSession user1Session = stompClient.connectAsync(user1WsUrl, new StompSessionHandlerAdapter() {})
+                .get(5, TimeUnit.SECONDS);
+
+        TypingRequest typingRequest = TypingRequest.builder()
+                .conversationId(conversation.getId())
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            user1Session.send("/app/typing/start", typingRequest);
+        }
+
+        TypingEventResponse event = receivedEvents.poll(10, TimeUnit.SECONDS);
+
+        assertNotNull(event, "Should receive coalesced typing snapshot");
+        assertEquals(user1.getId(), event.getUserId());
+        assertTrue(event.isTyping());
+        assertEquals(List.of(user1.getId()), event.getTypingUserIds());
+        assertNull(receivedEvents.poll(1, TimeUnit.SECONDS), "Burst should produce a single snapshot");
+
+        session.disconnect();
+        user1Session.disconnect();
+    }
+
+    @Test
+    void testMixedWindowExcludesOnlyUnaffectedActors() {
+        String conversationId = conversation.getId();
+        ArgumentCaptor<TypingEventResponse> captor = ArgumentCaptor.forClass(TypingEventResponse.class);
+
+        typingAggregator.record(conversationId, "typer-a", true);
+        typingAggregator.record(conversationId, "typer-b", true);
+
+        verify(redisTypingPublisher, timeout(3000)).publishTypingEvent(eq(conversationId), captor.capture());
+        TypingEventResponse first = captor.getValue();
+        assertNull(first.getUserId());
+        assertEquals(List.of("typer-a", "typer-b"), first.getTypingUserIds());
+        assertEquals(List.of(), first.getExcludedUserIds());
+
+        Mockito.clearInvocations(redisTypingPublisher);
+        typingAggregator.record(conversationId, "typer-a", true);
+        typingAggregator.record(conversationId, "typer-b", false);
+
+        verify(redisTypingPublisher, timeout(3000)).publishTypingEvent(eq(conversationId), captor.capture());
+        TypingEventResponse second = captor.getValue();
+        assertEquals(List.of("typer-a"), second.getTypingUserIds());
+        assertEquals(List.of("typer-b"), second.getExcludedUserIds());
+    }
 }
@@ -0,0 +1,147 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.RealtimeProperties;
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.dto.response.UnreadUpdateResponse;
+import com.cena.chat_app.service.RedisUnreadPublisher;
+import com.cena.chat_app.service.RedisUnreadService;
+import com.cena.chat_app.websocket.RealtimeEnvelope;
+import com.cena.chat_app.websocket.RealtimeEventType;
+import com.cena.chat_app.websocket.RedisPresenceService;
+import tools.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class UnreadFanOutTest {
+    private static final String CONVERSATION_ID = "fanout-conversation";
+
+    @Autowired
+    private RedisUnreadPublisher redisUnreadPublisher;
+
+    @Autowired
+    private RedisUnreadService redisUnreadService;
+
+    @Autowired
+    private RedisPresenceService presenceService;
+
+    @Autowired
+    private RealtimeProperties realtimeProperties;
+
+    @Autowired
+    private RedisConnectionFactory connectionFactory;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private RedisMessageListenerContainer listenerContainer;
+    private final BlockingQueue<RealtimeEnvelope> nodeAEvents = new LinkedBlockingQueue<>();
+    private final BlockingQueue<RealtimeEnvelope> nodeBEvents = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        presenceService.addSession("fanout-user-a", "fanout-session-1", "fanout-node-a");
+        presenceService.addSession("fanout-user-ab", "fanout-session-2", "fanout-node-a");
+        presenceService.addSession("fanout-user-ab", "fanout-session-3", "fanout-node-b");
+
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener((message, pattern) -> nodeAEvents.add(RealtimeEnvelope.decode(message.getBody())),
+                new ChannelTopic(realtimeProperties.nodeChannel("fanout-node-a")));
+        listenerContainer.addMessageListener((message, pattern) -> nodeBEvents.add(RealtimeEnvelope.decode(message.getBody())),
+                new ChannelTopic(realtimeProperties.nodeChannel("fanout-node-b")));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+
+        Thread.sleep(500);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        listenerContainer.destroy();
+        presenceService.removeSession("fanout-session-1");
+        presenceService.removeSession("fanout-session-2");
+        presenceService.removeSession("fanout-session-3");
+        for (String userId : List.of("fanout-user-a", "fanout-user-ab", "fanout-offline-user")) {
+            redisTemplate.delete(redisUnreadService.buildKey(userId, CONVERSATION_ID));
+        }
+    }
+
+    @Test
+    void testScriptIncrementsEachRecipient() {
+        List<String> recipients = List.of("fanout-user-a", "fanout-user-ab", "fanout-offline-user");
+
+        Map<String, Long> first = redisUnreadPublisher.incrementAndPublish(CONVERSATION_ID, recipients);
+        Map<String, Long> second = redisUnreadPublisher.incrementAndPublish(CONVERSATION_ID, recipients);
+
+        assertEquals(Map.of("fanout-user-a", 1L, "fanout-user-ab", 1L, "fanout-offline-user", 1L), first);
+        assertEquals(Map.of("fanout-user-a", 2L, "fanout-user-ab", 2L, "fanout-offline-user", 2L), second);
+        for (String userId : recipients) {
+            assertEquals(2L, redisUnreadService.getUnreadCount(userId, CONVERSATION_ID));
+        }
+    }
+
+    @Test
+    void testScriptPublishesPerRecipientPayloadToResolvedNodes() throws Exception {
+        redisTemplate.opsForValue().set(redisUnreadService.buildKey("fanout-user-ab", CONVERSATION_ID), "4");
+
+        redisUnreadPublisher.incrementAndPublish(CONVERSATION_ID,
+                List.of("fanout-user-a", "fanout-user-ab", "fanout-offline-user"));
+
+        Map<String, UnreadUpdateResponse> nodeAUpdates = drain(nodeAEvents, 2);
+        Map<String, UnreadUpdateResponse> nodeBUpdates = drain(nodeBEvents, 1);
+
+        assertEquals(2, nodeAUpdates.size());
+        assertEquals(1L, nodeAUpdates.get("fanout-user-a").getUnreadCount());
+        assertEquals(5L, nodeAUpdates.get("fanout-user-ab").getUnreadCount());
+        assertEquals(CONVERSATION_ID, nodeAUpdates.get("fanout-user-a").getConversationId());
+
+        assertEquals(1, nodeBUpdates.size());
+        assertEquals(5L, nodeBUpdates.get("fanout-user-ab").getUnreadCount());
+
+        Thread.sleep(300);
+        assertTrue(nodeAEvents.isEmpty());
+        assertTrue(nodeBEvents.isEmpty());
+    }
+
+    private Map<String, UnreadUpdateResponse> drain(BlockingQueue<RealtimeEnvelope> events, int expected) throws Exception {
+        List<RealtimeEnvelope> received = new ArrayList<>();
+        for (int i = 0; i < expected; i++) {
+            RealtimeEnvelope envelope = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(envelope, "Should receive unread event " + (i + 1) + " of " + expected);
+            received.add(envelope);
+        }
+
+        Map<String, UnreadUpdateResponse> updates = new HashMap<>();
+        for (RealtimeEnvelope envelope : received) {
+            assertEquals(RealtimeEventType.UNREAD, envelope.type());
+            updates.put(envelope.targetId(), objectMapper.readValue(envelope.payload(), UnreadUpdateResponse.class));
+        }
+        return updates;
+    }
+}
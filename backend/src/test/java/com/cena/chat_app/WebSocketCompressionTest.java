@@ -0,0 +1,92 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.RealtimeProperties;
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.security.JwtTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class WebSocketCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private RealtimeProperties realtimeProperties;
+
+    @AfterEach
+    void tearDown() {
+        realtimeProperties.setCompressionEnabled(true);
+    }
+
+    @Test
+    void testPerMessageDeflateNegotiatedWhenEnabled() throws Exception {
+        List<String> headers = handshake();
+
+        assertTrue(headers.get(0).contains("101"), "Handshake should upgrade: " + headers.get(0));
+        assertTrue(headers.stream().anyMatch(h -> h.toLowerCase().startsWith("sec-websocket-extensions:")
+                && h.contains("permessage-deflate")));
+    }
+
+    @Test
+    void testPerMessageDeflateDeclinedWhenDisabled() throws Exception {
+        realtimeProperties.setCompressionEnabled(false);
+
+        List<String> headers = handshake();
+
+        assertTrue(headers.get(0).contains("101"), "Handshake should upgrade: " + headers.get(0));
+        assertFalse(headers.stream().anyMatch(h -> h.contains("permessage-deflate")));
+    }
+
+    private List<String> handshake() throws Exception {
+        String token = jwtTokenProvider.generateAccessToken("compression-user");
+        String key = Base64.getEncoder().encodeToString("0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+        String request = "GET /ws?token=" + token + " HTTP/1.1\r\n"
+                + "Host: localhost:" + port + "\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Key: " + key + "\r\n"
+                + "Sec-WebSocket-Version: 13\r\n"
+                + "Sec-WebSocket-Protocol: v12.stomp\r\n"
+                + "Sec-WebSocket-Extensions: permessage-deflate; client_max_window_bits\r\n"
+                + "\r\n";
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            out.write(request.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            List<String> headers = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                headers.add(line);
+            }
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.cena.chat_app;
+
+import com.cena.chat_app.config.TestMongoDBConfiguration;
+import com.cena.chat_app.config.TestRedisConfiguration;
+import com.cena.chat_app.dto.request.DeleteMessageRequest;
+import com.cena.chat_app.dto.request.EditMessageRequest;
+import com.cena.chat_app.dto.request.ReactionRequest;
+import com.cena.chat_app.dto.request.SendMessageRequest;
+import com.cena.chat_app.dto.response.MessageReceiptResponse;
+import com.cena.chat_app.dto.response.MessageResponse;
+import com.cena.chat_app.entity.Conversation;
+import com.cena.chat_app.entity.ConversationMember;
+import com.cena.chat_app.entity.Message;
+import com.cena.chat_app.entity.User;
+import com.cena.chat_app.repository.ConversationMemberRepository;
+import com.cena.chat_app.repository.ConversationRepository;
+import com.cena.chat_app.repository.MessageRepository;
+import com.cena.chat_app.repository.UserRepository;
+import com.cena.chat_app.security.JwtTokenProvider;
+import com.cena.chat_app.service.RedisRateLimitService;
+import tools.jackson.databind.DeserializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import({ TestRedisConfiguration.class, TestMongoDBConfiguration.class })
+class WebSocketMessageSendTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ConversationMemberRepository conversationMemberRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RedisRateLimitService rateLimitService;
+
+    private User testUser;
+    private Conversation testConversation;
+    private StompSession session;
+    private final BlockingQueue<MessageReceiptResponse> receipts = new LinkedBlockingQueue<>();
+    private final BlockingQueue<MessageResponse> messages = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        testUser = userRepository.save(User.builder()
+                .username("wssender")
+                .passwordHash(passwordEncoder.encode("password"))
+                .displayName("WS Sender")
+                .status("ACTIVE")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build());
+
+        testConversation = conversationRepository.save(Conversation.builder()
+                .type("GROUP")
+                .name("WS Group")
+                .ownerId(testUser.getId())
+                .createdAt(Instant.now())
+                .build());
+
+        conversationMemberRepository.save(ConversationMember.builder()
+                .conversationId(testConversation.getId())
+                .userId(testUser.getId())
+                .role("OWNER")
+                .canSendMessage(true)
+                .joinedAt(Instant.now())
+                .unreadCount(0)
+                .build());
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        tools.jackson.databind.json.JsonMapper mapper = tools.jackson.databind.json.JsonMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)
+                .build();
+        stompClient.setMessageConverter(new JacksonJsonMessageConverter(mapper));
+
+        String wsUrl = "ws://localhost:" + port + "/ws?token=" + jwtTokenProvider.generateAccessToken(testUser.getId());
+        session = stompClient.connectAsync(wsUrl, new StompSessionHandlerAdapter() {})
+                .get(5, TimeUnit.SECONDS);
+
+        session.subscribe("/user/queue/receipts", handler(MessageReceiptResponse.class, receipts));
+        session.subscribe("/topic/conversation." + testConversation.getId(), handler(MessageResponse.class, messages));
+
+        Thread.sleep(500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimitService.resetLimit(testUser.getId(), "ws_send_message");
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+        messageRepository.deleteAll();
+        conversationMemberRepository.deleteAll();
+        conversationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testSendMessageOverWebSocketReturnsReceipt() throws Exception {
+        session.send("/app/chat.sendMessage", SendMessageRequest.builder()
+                .conversationId(testConversation.getId())
+                .content("Hello over STOMP")
+                .clientMessageId("client-1")
+                .build());
+
+        MessageReceiptResponse receipt = receipts.poll(10, TimeUnit.SECONDS);
+        assertNotNull(receipt, "Should receive send receipt");
+        assertEquals("client-1", receipt.getClientMessageId());
+        assertEquals("SEND", receipt.getAction());
+        assertEquals("success", receipt.getStatus());
+        assertNotNull(receipt.getMessageId());
+        assertNotNull(receipt.getSeq());
+        assertEquals(testConversation.getId(), receipt.getConversationId());
+
+        MessageResponse broadcast = messages.poll(10, TimeUnit.SECONDS);
+        assertNotNull(broadcast, "Message should be broadcast to the conversation");
+        assertEquals(receipt.getMessageId(), broadcast.getId());
+        assertEquals("Hello over STOMP", broadcast.getContent());
+
+        Message stored = messageRepository.findById(receipt.getMessageId()).orElseThrow();
+        assertEquals(receipt.getSeq(), stored.getSeq());
+    }
+
+    @Test
+    void testReactionEditAndDeleteOverWebSocket() throws Exception {
+        session.send("/app/chat.sendMessage", SendMessageRequest.builder()
+                .conversationId(testConversation.getId())
+                .content("Original")
+                .clientMessageId("client-send")
+                .build());
+        MessageReceiptResponse sent = receipts.poll(10, TimeUnit.SECONDS);
+        assertNotNull(sent);
+
+        session.send("/app/chat.reaction", ReactionRequest.builder()
+                .messageId(sent.getMessageId())
+                .reactionType("LIKE")
+                .clientMessageId("client-react")
+                .build());
+        MessageReceiptResponse reacted = receipts.poll(10, TimeUnit.SECONDS);
+        assertNotNull(reacted);
+        assertEquals("client-react", reacted.getClientMessageId());
+        assertEquals("success", reacted.getStatus());
+
+        session.send("/app/chat.editMessage", EditMessageRequest.builder()
+                .messageId(sent.getMessageId())
+                .content("Edited")
+                .clientMessageId("client-edit")
+                .build());
+        MessageReceiptResponse edited = receipts.poll(10, TimeUnit.SECONDS);
+        assertNotNull(edited);
+        assertEquals("client-edit", edited.getClientMessageId());
+        assertEquals("success", edited.getStatus());
+
+        session.send("/app/chat.deleteMessage", DeleteMessageRequest.builder()
+                .messageId(sent.getMessageId())
+                .clientMessageId("client-delete")
+                .build());
+        MessageReceiptResponse deleted = receipts.poll(10, TimeUnit.SECONDS);
+        assertNotNull(deleted);
+        assertEquals("client-delete", deleted.getClientMessageId());
+        assertEquals("success", deleted.getStatus());
+
+        Message stored = messageRepository.findById(sent.getMessageId()).orElseThrow();
+        assertTrue(stored.isDeleted());
+        assertEquals("LIKE", stored.getReactions().get(testUser.getId()));
+    }
+
+    @Test
+    void testRejectedSendReturnsErrorReceipt() throws Exception {
+        session.send("/app/chat.sendMessage", SendMessageRequest.builder()
+                .conversationId("missing-conversation")
+                .content("Nowhere")
+                .clientMessageId("client-missing")
+                .build());
+
+        MessageReceiptResponse receipt = receipts.poll(10, TimeUnit.SECONDS);
+        assertNotNull(receipt, "Should receive error receipt");
+        assertEquals("client-missing", receipt.getClientMessageId());
+        assertEquals("error", receipt.getStatus());
+        assertEquals("CONVERSATION_NOT_FOUND", receipt.getCode());
+        assertNull(receipt.getMessageId());
+    }
+
+    @Test
+    void testRateLimitedSendReturnsErrorReceipt() throws Exception {
+        for (int i = 0; i < 60; i++) {
+            rateLimitService.allowRequest(testUser.getId(), "ws_send_message", 60, Duration.ofMinutes(1));
+        }
+
+        session.send("/app/chat.sendMessage", SendMessageRequest.builder()
+                .conversationId(testConversation.getId())
+                .content("Too fast")
+                .clientMessageId("client-limited")
+                .build());
+
+        MessageReceiptResponse receipt = receipts.poll(10, TimeUnit.SECONDS);
+        assertNotNull(receipt, "Should receive rate limit receipt");
+        assertEquals("client-limited", receipt.getClientMessageId());
+        assertEquals("error", receipt.getStatus());
+        assertEquals("RATE_LIMIT_EXCEEDED", receipt.getCode());
+        assertTrue(session.isConnected());
+        assertEquals(0, messageRepository.count());
+    }
+
+    private <T> StompFrameHandler handler(Class<T> type, BlockingQueue<T> queue) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return type;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                if (type.isInstance(payload)) {
+                    queue.add(type.cast(payload));
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.cena.chat_app.config;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistrar;
+import org.testcontainers.containers.FixedHostPortGenericContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+@TestConfiguration
+public class TestRedisClusterConfiguration {
+    private static final int FIRST_PORT = 7000;
+    private static final int MASTERS = 3;
+
+    @Bean
+    @SuppressWarnings("deprecation")
+    public GenericContainer<?> redisClusterContainer() {
+        FixedHostPortGenericContainer<?> container = new FixedHostPortGenericContainer<>("grokzen/redis-cluster:7.0.10")
+                .withEnv("IP", "0.0.0.0")
+                .withEnv("INITIAL_PORT", String.valueOf(FIRST_PORT))
+                .withEnv("MASTERS", String.valueOf(MASTERS))
+                .withEnv("SLAVES_PER_MASTER", "0")
+                .waitingFor(Wait.forLogMessage(".*Cluster state changed: ok.*", MASTERS));
+        for (int port = FIRST_PORT; port < FIRST_PORT + MASTERS; port++) {
+            container.withFixedExposedPort(port, port);
+        }
+        container.start();
+        return container;
+    }
+
+    @Bean
+    public DynamicPropertyRegistrar redisClusterProperties(GenericContainer<?> redisClusterContainer) {
+        return registry -> {
+            registry.add("spring.data.redis.cluster.nodes", () -> "127.0.0.1:7000,127.0.0.1:7001,127.0.0.1:7002");
+            registry.add("realtime.transport", () -> "sharded");
+        };
+    }
+}
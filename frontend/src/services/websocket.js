@@ -22,6 +22,7 @@ class WebSocketService {
 
     this.client = new Client({
       brokerURL: `${wsUrl}?token=${token}`,
+      connectHeaders: { 'x-frame-batching': 'true' },
       reconnectDelay: this.reconnectDelay,
       heartbeatIncoming: 10000,
       heartbeatOutgoing: 10000,
@@ -3,6 +3,7 @@ import { ref } from 'vue'
 import * as messagesApi from '../api/messages'
 import * as mediaApi from '../api/media'
 import * as reactionsApi from '../api/reactions'
+import { useAuthStore } from './auth'
 
 export const useMessagesStore = defineStore('messages', () => {
   // Messages grouped by conversation ID
@@ -154,9 +155,7 @@ export const useMessagesStore = defineStore('messages', () => {
       const response = await reactionsApi.toggleReaction(messageId, reactionType)
       const reactionData = response.data
 
-      updateMessageInStore(conversationId, messageId, {
-        reactions: reactionData.allReactions || {}
-      })
+      applyReactionDelta(reactionData)
 
       return reactionData
     } catch (err) {
@@ -185,11 +184,29 @@ export const useMessagesStore = defineStore('messages', () => {
   }
 
   function handleReactionUpdate(reactionData) {
-    const { conversationId, messageId, allReactions } = reactionData
+    applyReactionDelta(reactionData)
+  }
 
-    updateMessageInStore(conversationId, messageId, {
-      reactions: allReactions || {}
+  function applyReactionDelta(reactionData) {
+    const { conversationId, messageId, userId, reactionType, added, reactionCounts } = reactionData
+    const message = getMessages(conversationId).find(m => m.id === messageId)
+    if (!message) return
+
+    const counts = { ...(message.reactionCounts || {}) }
+    Object.entries(reactionCounts || {}).forEach(([type, count]) => {
+      if (count > 0) {
+        counts[type] = count
+      } else {
+        delete counts[type]
+      }
     })
+
+    const updates = { reactionCounts: counts }
+    const authStore = useAuthStore()
+    if (userId === authStore.user?.id) {
+      updates.myReaction = added ? reactionType : null
+    }
+    updateMessageInStore(conversationId, messageId, updates)
   }
 
   function getMessages(conversationId) {
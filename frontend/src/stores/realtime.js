@@ -131,34 +131,57 @@ export const useRealtimeStore = defineStore('realtime', () => {
   }
 
   function handleTypingEvent(data) {
-    const { conversationId, userId, typing } = data
+    const { conversationId, userId, typing, typingUserIds } = data
     const authStore = useAuthStore()
+    const currentUserId = authStore.user?.id
 
-    if (userId === authStore.user?.id) {
+    if (Array.isArray(typingUserIds)) {
+      const receivedAt = Date.now()
+      const next = {}
+      typingUserIds
+        .filter(uid => uid !== currentUserId)
+        .forEach(uid => {
+          next[uid] = receivedAt
+          scheduleTypingExpiry(conversationId, uid, receivedAt)
+        })
+
+      if (Object.keys(next).length === 0) {
+        delete typingUsers.value[conversationId]
+      } else {
+        typingUsers.value[conversationId] = next
+      }
       return
     }
 
-    if (!typingUsers.value[conversationId]) {
-      typingUsers.value[conversationId] = {}
+    if (!userId || userId === currentUserId) {
+      return
     }
 
     if (typing) {
-      typingUsers.value[conversationId][userId] = Date.now()
-
-      setTimeout(() => {
-        if (typingUsers.value[conversationId] && typingUsers.value[conversationId][userId]) {
-          delete typingUsers.value[conversationId][userId]
-          if (Object.keys(typingUsers.value[conversationId]).length === 0) {
-            delete typingUsers.value[conversationId]
-          }
-        }
-      }, 5000)
+      if (!typingUsers.value[conversationId]) {
+        typingUsers.value[conversationId] = {}
+      }
+      const startedAt = Date.now()
+      typingUsers.value[conversationId][userId] = startedAt
+      scheduleTypingExpiry(conversationId, userId, startedAt)
     } else {
-      if (typingUsers.value[conversationId]) {
-        delete typingUsers.value[conversationId][userId]
-        if (Object.keys(typingUsers.value[conversationId]).length === 0) {
-          delete typingUsers.value[conversationId]
-        }
+      removeTypingUser(conversationId, userId)
+    }
+  }
+
+  function scheduleTypingExpiry(conversationId, userId, startedAt) {
+    setTimeout(() => {
+      if (typingUsers.value[conversationId]?.[userId] === startedAt) {
+        removeTypingUser(conversationId, userId)
+      }
+    }, 5000)
+  }
+
+  function removeTypingUser(conversationId, userId) {
+    if (typingUsers.value[conversationId]) {
+      delete typingUsers.value[conversationId][userId]
+      if (Object.keys(typingUsers.value[conversationId]).length === 0) {
+        delete typingUsers.value[conversationId]
       }
     }
   }